@@ -0,0 +1,127 @@
+package ru.practicum.shareit;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingJpaRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentJpaRepository;
+import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserJpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * shareit-server over an in-memory H2 database: one owner with {@code items} items, each with
+ * {@code bookingsPerItem} bookings spread over all states and {@code commentsPerItem} comments.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDataset {
+    private static final BookingStatus[] STATUSES = {
+            BookingStatus.APPROVED, BookingStatus.WAITING, BookingStatus.REJECTED, BookingStatus.CANCELED};
+    private static final long[] START_OFFSET_DAYS = {-10, -1, 10};
+
+    @Param({"1000"})
+    public int items;
+    @Param({"4"})
+    public int bookingsPerItem;
+    @Param({"2"})
+    public int commentsPerItem;
+
+    private ConfigurableApplicationContext context;
+    private Long ownerId;
+    private Long bookerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmarks",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.ru.practicum.shareit=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        populate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public Long getBookerId() {
+        return bookerId;
+    }
+
+    private void populate() {
+        UserJpaRepository userRepository = bean(UserJpaRepository.class);
+        ItemJpaRepository itemRepository = bean(ItemJpaRepository.class);
+        BookingJpaRepository bookingRepository = bean(BookingJpaRepository.class);
+        CommentJpaRepository commentRepository = bean(CommentJpaRepository.class);
+
+        User owner = userRepository.save(User.builder().name("Owner").email("owner@benchmarks.ru").build());
+        User booker = userRepository.save(User.builder().name("Booker").email("booker@benchmarks.ru").build());
+        ownerId = owner.getId();
+        bookerId = booker.getId();
+
+        List<Item> ownerItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            ownerItems.add(Item.builder()
+                    .name("item" + i)
+                    .description("description" + i)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+        }
+        ownerItems = itemRepository.saveAll(ownerItems);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = new ArrayList<>(items * bookingsPerItem);
+        List<Comment> comments = new ArrayList<>(items * commentsPerItem);
+        for (Item item : ownerItems) {
+            for (int b = 0; b < bookingsPerItem; b++) {
+                // past, current and future bookings in turn, so every state has rows to return
+                LocalDateTime start = now.plusDays(START_OFFSET_DAYS[b % START_OFFSET_DAYS.length]).plusMinutes(b);
+                bookings.add(Booking.builder()
+                        .start(start)
+                        .end(start.plusDays(2))
+                        .item(item)
+                        .booker(booker)
+                        .status(STATUSES[b % STATUSES.length])
+                        .build());
+            }
+            for (int c = 0; c < commentsPerItem; c++) {
+                comments.add(Comment.builder()
+                        .text("comment" + c)
+                        .author(booker)
+                        .item(item)
+                        .created(now.minusDays(c))
+                        .build());
+            }
+        }
+        bookingRepository.saveAll(bookings);
+        commentRepository.saveAll(comments);
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.booking.mapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingItemResponseDto;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BookingMapperBenchmark {
+    @Param({"100"})
+    public int listSize;
+
+    private Booking booking;
+    private List<Booking> bookings;
+    private BookingRequestDto bookingRequestDto;
+    private User booker;
+    private Item item;
+
+    @Setup
+    public void setUp() {
+        User owner = User.builder().id(1L).name("Owner").email("owner@benchmarks.ru").build();
+        booker = User.builder().id(2L).name("Booker").email("booker@benchmarks.ru").build();
+        item = Item.builder().id(1L).name("item").description("description").available(true).owner(owner).build();
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        bookings = new ArrayList<>(listSize);
+        for (long id = 1; id <= listSize; id++) {
+            bookings.add(Booking.builder()
+                    .id(id)
+                    .start(start.plusDays(id))
+                    .end(start.plusDays(id + 1))
+                    .item(item)
+                    .booker(booker)
+                    .status(BookingStatus.APPROVED)
+                    .build());
+        }
+        booking = bookings.get(0);
+        bookingRequestDto = BookingRequestDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(start.plusDays(1))
+                .build();
+    }
+
+    @Benchmark
+    public BookingResponseDto toBookingResponseDto() {
+        return BookingMapper.toBookingResponseDto(booking);
+    }
+
+    @Benchmark
+    public BookingItemResponseDto toBookingItemResponseDto() {
+        return BookingMapper.toBookingItemResponseDto(booking);
+    }
+
+    @Benchmark
+    public Booking toBooking() {
+        return BookingMapper.toBooking(bookingRequestDto, booker, item, BookingStatus.WAITING);
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> toBookingResponseDtoList() {
+        return BookingMapper.toBookingResponseDtoList(bookings);
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.BenchmarkDataset;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State-switch query dispatch of BookingServiceImpl for every BookingState, by offset and by keyset cursor.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingStateDispatchBenchmark {
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    public String state;
+    @Param({"20"})
+    public int pageSize;
+
+    private BookingService bookingService;
+    private Long ownerId;
+    private Long bookerId;
+
+    @Setup
+    public void setUp(BenchmarkDataset dataset) {
+        bookingService = dataset.bean(BookingService.class);
+        ownerId = dataset.getOwnerId();
+        bookerId = dataset.getBookerId();
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> getListByOwner() {
+        return bookingService.getListByOwner(ownerId, state, 0, pageSize);
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> getListByBooker() {
+        return bookingService.getListByBooker(bookerId, state, 0, pageSize);
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> getListByOwnerAfterCursor() {
+        return bookingService.getListByOwnerAfterCursor(ownerId, state, null, pageSize);
+    }
+}
@@ -0,0 +1,164 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of {@code clients} simultaneous requests, each holding a HikariCP connection for {@code holdMillis}
+ * as an open-in-view request does, against a pool of {@code poolSize} connections to in-memory H2:
+ * on 200 platform threads (the Tomcat default), on virtual threads, and on virtual threads behind the real
+ * {@link DataSourceAdmissionFilter} with the server defaults (permits = pool size, 5 s admission timeout).
+ * The score is the time to drain the burst; latency percentiles, 503 rejections and Hikari timeouts are
+ * printed once per invocation. The virtual modes need a JDK 21 fork:
+ * -Djmh.args="-jvm /path/to/jdk-21/bin/java DataSourceAdmission".
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataSourceAdmissionBenchmark {
+    private static final int PLATFORM_THREADS = 200;
+    private static final Duration ADMISSION_TIMEOUT = Duration.ofSeconds(5);
+
+    @Param({"1000", "10000"})
+    public int clients;
+
+    @Param({"platform", "virtual", "virtualAdmission"})
+    public String mode;
+
+    @Param({"10"})
+    public int poolSize;
+
+    @Param({"5"})
+    public long holdMillis;
+
+    private HikariDataSource dataSource;
+    private ExecutorService executor;
+    private DataSourceAdmissionFilter admissionFilter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // One WARN line per rejected request would dominate the 10k bursts.
+        LoggingSystem.get(getClass().getClassLoader()).setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.ERROR);
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl("jdbc:h2:mem:admission-benchmarks;DB_CLOSE_DELAY=-1");
+        hikariConfig.setMaximumPoolSize(poolSize);
+        hikariConfig.setMinimumIdle(poolSize);
+        dataSource = new HikariDataSource(hikariConfig);
+
+        executor = "platform".equals(mode)
+                ? Executors.newFixedThreadPool(PLATFORM_THREADS)
+                : VirtualThreadConfig.newVirtualThreadPerTaskExecutor();
+        if ("virtualAdmission".equals(mode)) {
+            admissionFilter = new DataSourceAdmissionFilter(poolSize, ADMISSION_TIMEOUT, new ObjectMapper());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public int burst() throws Exception {
+        List<Future<Long>> requests = new ArrayList<>(clients);
+        int[] statuses = new int[clients];
+        for (int i = 0; i < clients; i++) {
+            int client = i;
+            long submittedNanos = System.nanoTime();
+            requests.add(executor.submit(() -> {
+                statuses[client] = handle();
+                return System.nanoTime() - submittedNanos;
+            }));
+        }
+
+        long[] latencies = new long[clients];
+        for (int i = 0; i < clients; i++) {
+            latencies[i] = requests.get(i).get();
+        }
+        return report(latencies, statuses);
+    }
+
+    private int handle() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (request, servletResponse) -> useConnection((HttpServletResponse) servletResponse);
+        if (admissionFilter == null) {
+            chain.doFilter(new MockHttpServletRequest("GET", "/items"), response);
+        } else {
+            admissionFilter.doFilter(new MockHttpServletRequest("GET", "/items"), response, chain);
+        }
+        return response.getStatus();
+    }
+
+    private void useConnection(HttpServletResponse response) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+            Thread.sleep(holdMillis);
+        } catch (SQLException e) {
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int report(long[] latencies, int[] statuses) {
+        int rejected = 0;
+        int timedOut = 0;
+        for (int status : statuses) {
+            if (status == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                rejected++;
+            } else if (status == HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                timedOut++;
+            }
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%n%s, %d clients: ok %d, rejected (503) %d, Hikari timeouts %d, "
+                        + "p50 %d ms, p99 %d ms, max %d ms%n",
+                mode, clients, clients - rejected - timedOut, rejected, timedOut,
+                percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99),
+                percentileMillis(latencies, 1.0));
+        return clients - rejected - timedOut;
+    }
+
+    private static long percentileMillis(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos[Math.max(index, 0)]);
+    }
+}
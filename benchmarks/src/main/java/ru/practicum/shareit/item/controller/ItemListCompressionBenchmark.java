@@ -0,0 +1,150 @@
+package ru.practicum.shareit.item.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserJpaRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * GET /items over HTTP for an owner with {@code items} items, with and without gzip (server.compression.*).
+ * Response sizes, including the body without null fields, are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemListCompressionBenchmark {
+    @Param({"5000"})
+    public int items;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest identityRequest;
+    private HttpRequest gzipRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.SERVLET)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:compression-benchmarks",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.ru.practicum.shareit=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        Long ownerId = populate();
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        URI uri = URI.create("http://localhost:" + port + "/items?from=0&size=" + items);
+        httpClient = HttpClient.newHttpClient();
+        identityRequest = HttpRequest.newBuilder(uri)
+                .header("X-Sharer-User-Id", String.valueOf(ownerId))
+                .GET()
+                .build();
+        gzipRequest = HttpRequest.newBuilder(uri)
+                .header("X-Sharer-User-Id", String.valueOf(ownerId))
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+        printResponseSizes();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] identity() throws Exception {
+        return send(identityRequest);
+    }
+
+    @Benchmark
+    public byte[] gzip() throws Exception {
+        return send(gzipRequest);
+    }
+
+    private byte[] send(HttpRequest request) throws Exception {
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /items вернул " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private void printResponseSizes() throws Exception {
+        byte[] identityBody = send(identityRequest);
+        byte[] gzipBody = send(gzipRequest);
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        List<Map<String, Object>> itemList = objectMapper.readValue(identityBody, new TypeReference<>() {
+        });
+        byte[] nonNullBody = objectMapper.copy()
+                .setDefaultPropertyInclusion(JsonInclude.Value.construct(JsonInclude.Include.NON_NULL,
+                        JsonInclude.Include.NON_NULL))
+                .writeValueAsBytes(itemList);
+        System.out.printf("GET /items, %d items: identity %d bytes, gzip %d bytes; without null fields %d bytes, "
+                        + "without null fields and gzip %d bytes%n",
+                itemList.size(), identityBody.length, gzipBody.length, nonNullBody.length, gzip(nonNullBody).length);
+    }
+
+    private Long populate() {
+        User owner = context.getBean(UserJpaRepository.class)
+                .save(User.builder().name("Owner").email("owner@benchmarks.ru").build());
+        List<Item> ownerItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            ownerItems.add(Item.builder()
+                    .name("item" + i)
+                    .description("description" + i)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+        }
+        context.getBean(ItemJpaRepository.class).saveAll(ownerItems);
+        return owner.getId();
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(body);
+        }
+        return out.toByteArray();
+    }
+}
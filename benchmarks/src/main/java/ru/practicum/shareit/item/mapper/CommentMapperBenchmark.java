@@ -0,0 +1,75 @@
+package ru.practicum.shareit.item.mapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CommentMapperBenchmark {
+    @Param({"100"})
+    public int listSize;
+
+    private Comment comment;
+    private List<Comment> comments;
+    private CommentRequestDto commentRequestDto;
+    private User author;
+    private Item item;
+
+    @Setup
+    public void setUp() {
+        User owner = User.builder().id(1L).name("Owner").email("owner@benchmarks.ru").build();
+        author = User.builder().id(2L).name("Author").email("author@benchmarks.ru").build();
+        item = Item.builder().id(1L).name("item").description("description").available(true).owner(owner).build();
+        LocalDateTime created = LocalDateTime.of(2030, 1, 1, 12, 0);
+        comments = new ArrayList<>(listSize);
+        for (long id = 1; id <= listSize; id++) {
+            comments.add(Comment.builder()
+                    .id(id)
+                    .text("comment" + id)
+                    .author(author)
+                    .item(item)
+                    .created(created.plusMinutes(id))
+                    .build());
+        }
+        comment = comments.get(0);
+        commentRequestDto = CommentRequestDto.builder().text("comment").itemId(item.getId()).build();
+    }
+
+    @Benchmark
+    public CommentResponseDto toCommentResponseDto() {
+        return CommentMapper.toCommentResponseDto(comment);
+    }
+
+    @Benchmark
+    public Comment toComment() {
+        return CommentMapper.toComment(commentRequestDto, author, item);
+    }
+
+    @Benchmark
+    public List<CommentResponseDto> toCommentResponseDtoList() {
+        return CommentMapper.toCommentResponseDtoList(comments);
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.item.mapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingItemResponseDto;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ItemMapperBenchmark {
+    private Item item;
+    private ItemDto itemDto;
+    private User owner;
+    private ItemRequest request;
+    private BookingItemResponseDto lastBooking;
+    private BookingItemResponseDto nextBooking;
+    private List<CommentResponseDto> comments;
+
+    @Setup
+    public void setUp() {
+        owner = User.builder().id(1L).name("Owner").email("owner@benchmarks.ru").build();
+        User requester = User.builder().id(2L).name("Requester").email("requester@benchmarks.ru").build();
+        request = ItemRequest.builder()
+                .id(1L)
+                .description("request")
+                .requester(requester)
+                .created(LocalDateTime.of(2030, 1, 1, 12, 0))
+                .build();
+        item = Item.builder()
+                .id(1L)
+                .name("item")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .request(request)
+                .build();
+        itemDto = ItemMapper.toItemDto(item);
+        lastBooking = BookingItemResponseDto.builder().id(1L).bookerId(2L).build();
+        nextBooking = BookingItemResponseDto.builder().id(2L).bookerId(2L).build();
+        comments = List.of(
+                CommentResponseDto.builder().id(1L).text("comment").authorName("Requester").itemId(1L)
+                        .created(LocalDateTime.of(2030, 1, 2, 12, 0)).build());
+    }
+
+    @Benchmark
+    public ItemDto toItemDto() {
+        return ItemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public ItemResponseDto toItemResponseDtoFromItem() {
+        return ItemMapper.toItemResponseDto(item, lastBooking, nextBooking, comments);
+    }
+
+    @Benchmark
+    public ItemResponseDto toItemResponseDtoFromItemDto() {
+        return ItemMapper.toItemResponseDto(itemDto, lastBooking, nextBooking, comments);
+    }
+
+    @Benchmark
+    public Item toItem() {
+        return ItemMapper.toItem(itemDto, owner, request);
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.item.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.BenchmarkDataset;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ItemServiceImpl.getListByUser: owner's page of items assembled with last/next bookings and comments.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemListByUserBenchmark {
+    @Param({"10", "100", "1000"})
+    public int pageSize;
+
+    private ItemService itemService;
+    private Long ownerId;
+
+    @Setup
+    public void setUp(BenchmarkDataset dataset) {
+        itemService = dataset.bean(ItemService.class);
+        ownerId = dataset.getOwnerId();
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> getListByUser() {
+        return itemService.getListByUser(ownerId, 0, pageSize, null);
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> getListByUserAfterId() {
+        return itemService.getListByUser(ownerId, 0, pageSize, 0L);
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingItemResponseDto;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cost of logging one getListByUser result: the former eager join of every DTO's toString against
+ * {@link LogSummary}, rendered (INFO written) and not rendered (INFO off). Run with -prof gc for allocation:
+ * -Djmh.args="-prof gc LogSummaryBenchmark".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LogSummaryBenchmark {
+    @Param({"10", "100", "1000"})
+    public int listSize;
+    @Param({"2"})
+    public int commentsPerItem;
+
+    private List<ItemResponseDto> items;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime created = LocalDateTime.of(2030, 1, 1, 12, 0);
+        items = new ArrayList<>(listSize);
+        for (long id = 1; id <= listSize; id++) {
+            List<CommentResponseDto> comments = new ArrayList<>(commentsPerItem);
+            for (long c = 1; c <= commentsPerItem; c++) {
+                comments.add(CommentResponseDto.builder().id(id * 100 + c).text("Отличная вещь, всем советую")
+                        .authorName("Booker").itemId(id).created(created.plusMinutes(c)).build());
+            }
+            items.add(ItemResponseDto.builder()
+                    .id(id)
+                    .name("item" + id)
+                    .description("Аккумуляторная дрель с двумя батареями" + id)
+                    .available(true)
+                    .lastBooking(BookingItemResponseDto.builder().id(id * 10).bookerId(2L).build())
+                    .nextBooking(BookingItemResponseDto.builder().id(id * 10 + 1).bookerId(2L).build())
+                    .comments(comments)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public String eagerJoin() {
+        return items.stream()
+                .map(ItemResponseDto::toString)
+                .collect(Collectors.joining(", "));
+    }
+
+    @Benchmark
+    public String summaryRendered() {
+        return LogSummary.of(items, ItemResponseDto::getId).toString();
+    }
+
+    @Benchmark
+    public Object summaryNotRendered() {
+        return LogSummary.of(items, ItemResponseDto::getId);
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.apache.http.impl.client.HttpClients;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.reactive.function.client.WebClient;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemController;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * GET /items through the gateway against a stub server returning {@code items} items: the response parsed into
+ * {@code Object} and written back, the raw bytes passed through on RestTemplate, and the raw bytes passed through
+ * on WebClient.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PassThroughThroughputBenchmark {
+    @Param({"200"})
+    public int items;
+
+    @Param({"object", "passThrough", "reactive"})
+    public String mode;
+
+    private ExecutorService stubExecutor;
+    private HttpServer stubServer;
+    private MockMvc gateway;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        LoggingSystem.get(getClass().getClassLoader()).setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.WARN);
+        // Headers and body go out in separate writes; without TCP_NODELAY every response waits for a delayed ACK.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        byte[] stubBody = new ObjectMapper().writeValueAsBytes(stubItems());
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubExecutor = Executors.newFixedThreadPool(4);
+        stubServer.setExecutor(stubExecutor);
+        stubServer.createContext("/items", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(200, stubBody.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(stubBody);
+            }
+        });
+        stubServer.start();
+
+        String serverUrl = "http://localhost:" + stubServer.getAddress().getPort();
+        ItemClient itemClient = new ItemClient(serverUrl, !"object".equals(mode), "reactive".equals(mode),
+                new RestTemplateBuilder(),
+                WebClient.builder(),
+                new GatewayResponseCache(0, Duration.ZERO),
+                new ShareitServerEndpoints(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                        TimeLimiterRegistry.ofDefaults(), HttpClients.createDefault(), Duration.ofSeconds(10)));
+        gateway = MockMvcBuilders.standaloneSetup(new ItemController(itemClient)).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stubServer.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public byte[] getListByUser() throws Exception {
+        MvcResult asyncResult = gateway.perform(get("/items").header("X-Sharer-User-Id", 1L)).andReturn();
+        MvcResult result = gateway.perform(asyncDispatch(asyncResult)).andReturn();
+        if (result.getResponse().getStatus() != 200) {
+            throw new IllegalStateException("GET /items returned " + result.getResponse().getStatus());
+        }
+        return result.getResponse().getContentAsByteArray();
+    }
+
+    private List<Map<String, Object>> stubItems() {
+        List<Map<String, Object>> stubItems = new ArrayList<>();
+        for (long i = 1; i <= items; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", i);
+            item.put("name", "item" + i);
+            item.put("description", "description of item " + i);
+            item.put("available", true);
+            item.put("lastBooking", Map.of("id", i, "bookerId", 2L));
+            item.put("nextBooking", null);
+            item.put("requestId", null);
+            item.put("comments", List.of());
+            stubItems.add(item);
+        }
+        return stubItems;
+    }
+}
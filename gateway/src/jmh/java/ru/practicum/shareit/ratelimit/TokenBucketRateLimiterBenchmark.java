@@ -0,0 +1,74 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of {@link TokenBucketRateLimiter#tryAcquire}: a single thread on its own key,
+ * a single thread spread over many keys and several threads racing on one hot key.
+ * The rate is high enough that permits are always granted, so only the bookkeeping is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenBucketRateLimiterBenchmark {
+    private static final int KEYS = 10_000;
+
+    private TokenBucketRateLimiter limiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        limiter = new TokenBucketRateLimiter(1_000_000_000d, 1_000_000, KEYS * 2L, Duration.ofMinutes(10));
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "user-" + i;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadKey {
+        String key;
+        int next;
+
+        @Setup
+        public void setUp() {
+            key = "thread-" + Thread.currentThread().getId();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long uncontendedKey(ThreadKey threadKey) {
+        return limiter.tryAcquire(threadKey.key);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long manyKeys(ThreadKey threadKey) {
+        String key = keys[threadKey.next];
+        threadKey.next = (threadKey.next + 1) % KEYS;
+        return limiter.tryAcquire(key);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long hotKey() {
+        return limiter.tryAcquire("hot");
+    }
+}
@@ -5,11 +5,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.ShareitServerEndpoints;
 import ru.practicum.shareit.util.Const;
 
 import java.util.Map;
@@ -20,48 +23,68 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value(Const.SERVER_URL) String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value(Const.SERVER_URL) String serverUrl,
+                         @Value(Const.PASS_THROUGH) boolean passThrough,
+                         @Value(Const.REACTIVE) boolean reactive,
+                         RestTemplateBuilder builder,
+                         WebClient.Builder webClientBuilder,
+                         GatewayResponseCache responseCache,
+                         ShareitServerEndpoints endpoints) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> endpoints.endpoint(API_PREFIX).requestFactory())
+                        .build(),
+                reactive
+                        ? webClientBuilder.uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX)).build()
+                        : null,
+                passThrough,
+                responseCache.region(API_PREFIX, "/items"),
+                endpoints.endpoint(API_PREFIX)
         );
     }
 
-    public ResponseEntity<Object> create(Long userId, BookingRequestDto bookingRequestDto) {
+    public Mono<ResponseEntity<Object>> create(Long userId, BookingRequestDto bookingRequestDto) {
         return post("", userId, bookingRequestDto);
     }
 
-    public ResponseEntity<Object> getById(Long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> getById(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> updateStatus(Long bookingId, Long userId, Boolean approved) {
+    public Mono<ResponseEntity<Object>> updateStatus(Long bookingId, Long userId, Boolean approved) {
         Map<String, Object> parameters = Map.of(
                 "approved", approved);
 
         return patch("/" + bookingId + "?approved=" + approved, userId, parameters);
     }
 
-    public ResponseEntity<Object> getListByOwner(Long userId, String state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getListByOwner(Long userId, String state, Integer from, Integer size,
+                                                 String cursor) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
                 "size", size
         );
 
-        return get("/owner?state=" + state + "&from=" + from + "&size=" + size, userId, parameters);
+        return get("/owner?state=" + state + "&from=" + from + "&size=" + size + cursorParameter(cursor),
+                userId, parameters);
     }
 
 
-    public ResponseEntity<Object> getListByBooker(Long userId, String state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getListByBooker(Long userId, String state, Integer from, Integer size,
+                                                  String cursor) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
                 "size", size
         );
 
-        return get("?state=" + state + "&from=" + from + "&size=" + size, userId, parameters);
+        return get("?state=" + state + "&from=" + from + "&size=" + size + cursorParameter(cursor),
+                userId, parameters);
+    }
+
+    private String cursorParameter(String cursor) {
+        return cursor == null ? "" : "&cursor=" + cursor;
     }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.validation.Validation;
 
@@ -23,7 +24,7 @@ public class BookingController {
 	private final BookingClient bookingClient;
 
 	@PostMapping()
-	public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId,
+	public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") Long userId,
 										 @RequestBody @Valid BookingRequestDto bookingRequestDto) {
 		Validation.checkDates(bookingRequestDto);
 		log.info("GATE POST-request: создание Booking c userId --> {}, bookingRequestDto --> {}", userId, bookingRequestDto);
@@ -31,13 +32,13 @@ public class BookingController {
 	}
 
 	@GetMapping("{bookingId}")
-	public ResponseEntity<Object> getById(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long bookingId) {
+	public Mono<ResponseEntity<Object>> getById(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long bookingId) {
 		log.info("Get-request: получение Booking по id бронирования --> {}, владелец вещи --> {}", userId, bookingId);
 		return bookingClient.getById(userId, bookingId);
 	}
 
 	@PatchMapping("{bookingId}")
-	public ResponseEntity<Object> updateStatus(@RequestHeader("X-Sharer-User-Id") Long userId,
+	public Mono<ResponseEntity<Object>> updateStatus(@RequestHeader("X-Sharer-User-Id") Long userId,
 										   @PathVariable("bookingId") Long bookingId, @RequestParam("approved") Boolean approved) {
 		log.info("PATCH-request: подтверждение бронирования для bookingId --> {}, userId --> {}, статус --> {}",
 				bookingId, userId, approved);
@@ -45,34 +46,36 @@ public class BookingController {
 	}
 
 	@GetMapping("owner")
-	public ResponseEntity<Object> getListByOwner(
+	public Mono<ResponseEntity<Object>> getListByOwner(
 			@RequestHeader("X-Sharer-User-Id") Long userId,
 			@RequestParam(value = "state", defaultValue = "ALL") String state,
 			@PositiveOrZero @RequestParam(
 					name = "from", defaultValue = "0") Integer from,
 			@Positive @RequestParam(
-					name = "size", defaultValue = "10") Integer size
+					name = "size", defaultValue = "10") Integer size,
+			@RequestParam(name = "cursor", required = false) String cursor
 	) {
 		Validation.checkBookingState(state);
 		log.info("GET-запрос: список Bookings для userId владельца: id --> {}, статус Booking --> {}, " +
-						"from --> {}, size --> {} ",
-				userId, state, from, size);
-		return bookingClient.getListByOwner(userId, state, from, size);
+						"from --> {}, size --> {}, cursor --> {} ",
+				userId, state, from, size, cursor);
+		return bookingClient.getListByOwner(userId, state, from, size, cursor);
 	}
 
 	@GetMapping()
-	public ResponseEntity<Object> getListByBooker(
+	public Mono<ResponseEntity<Object>> getListByBooker(
 			@RequestHeader("X-Sharer-User-Id") Long userId,
 			@RequestParam(value = "state", defaultValue = "ALL") String state,
 			@PositiveOrZero @RequestParam(
 					name = "from", defaultValue = "0") Integer from,
 			@Positive @RequestParam(
-					name = "size", defaultValue = "10") Integer size
+					name = "size", defaultValue = "10") Integer size,
+			@RequestParam(name = "cursor", required = false) String cursor
 	) {
 		Validation.checkBookingState(state);
 		log.info("GET-запрос: получить список Bookings для userId --> {}, статус брони --> {}, " +
-						"from --> {}, size --> {}",
-				userId, state, from, size);
-		return bookingClient.getListByBooker(userId, state, from, size);
+						"from --> {}, size --> {}, cursor --> {}",
+				userId, state, from, size, cursor);
+		return bookingClient.getListByBooker(userId, state, from, size, cursor);
 	}
 }
\ No newline at end of file
@@ -2,105 +2,232 @@ package ru.practicum.shareit.client;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 public class BaseClient {
+    /**
+     * Заголовки ответа shareit-server, которые не передаются клиенту: hop-by-hop заголовки относятся
+     * к соединению gateway с shareit-server, а длину и кодирование тела ответа gateway задает сам.
+     */
+    private static final Set<String> NOT_FORWARDED_HEADERS = Set.of(
+            HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.PROXY_AUTHENTICATE, HttpHeaders.PROXY_AUTHORIZATION,
+            HttpHeaders.TE, HttpHeaders.TRAILER, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.UPGRADE,
+            HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONTENT_ENCODING);
+
     protected final RestTemplate rest;
+    @Nullable
+    private final WebClient webClient;
+    private final boolean passThrough;
+    @Nullable
+    private final GatewayResponseCache.Region cacheRegion;
+    @Nullable
+    private final ShareitServerEndpoints.Endpoint endpoint;
+    private final SingleFlight<InFlightGet, ResponseEntity<Object>> inFlightGets = new SingleFlight<>();
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null, false);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable WebClient webClient, boolean passThrough) {
+        this(rest, webClient, passThrough, null, null);
+    }
+
+    /**
+     * @param webClient   если задан, запросы к shareit-server выполняются неблокирующе через WebClient
+     *                    на event-loop Netty, и поток Tomcat освобождается до получения ответа;
+     *                    тело ответа в этом режиме всегда передается как есть
+     * @param passThrough если true, тело ответа shareit-server передается клиенту как есть (byte[]),
+     *                    без разбора Jackson в Object и повторной сериализации в контроллере
+     * @param cacheRegion регион кэша ответов: в нем хранятся ответы {@link #cachedGet}, и он сбрасывается
+     *                    после успешных POST/PATCH/PUT/DELETE этого клиента
+     * @param endpoint    бюджет времени, bulkhead и circuit breaker для запросов этого клиента к shareit-server
+     */
+    public BaseClient(RestTemplate rest, @Nullable WebClient webClient, boolean passThrough,
+                      @Nullable GatewayResponseCache.Region cacheRegion,
+                      @Nullable ShareitServerEndpoints.Endpoint endpoint) {
         this.rest = rest;
+        this.webClient = webClient;
+        this.passThrough = passThrough;
+        this.cacheRegion = cacheRegion;
+        this.endpoint = endpoint;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
     //
-    protected ResponseEntity<Object> get(String path, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> get(String path, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, null, parameters, null);
     }
     //
 
+    /**
+     * GET через кэш ответов: повторный запрос с тем же путем и X-Sharer-User-Id не доходит до shareit-server,
+     * а ETag позволяет клиенту получить 304 без тела.
+     */
+    protected Mono<ResponseEntity<Object>> cachedGet(String path, @Nullable Long userId,
+                                                     @Nullable Map<String, Object> parameters) {
+        if (cacheRegion == null) {
+            return get(path, userId, parameters);
+        }
+        return Mono.defer(() -> {
+            ResponseEntity<Object> cached = cacheRegion.get(path, userId);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long generation = cacheRegion.generation();
+            return send(HttpMethod.GET, path, userId, parameters, null, true).map(response -> {
+                if (response.getStatusCode() != HttpStatus.OK || !(response.getBody() instanceof byte[])) {
+                    return response;
+                }
+                return cacheRegion.put(path, userId, generation, response.getStatusCode(),
+                        response.getHeaders(), (byte[]) response.getBody());
+            });
+        });
+    }
 
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        Mono<ResponseEntity<Object>> response = send(method, path, userId, parameters, body, passThrough);
+        if (cacheRegion == null || method == HttpMethod.GET) {
+            return response;
+        }
+        return response.doOnNext(shareitServerResponse -> {
+            if (shareitServerResponse.getStatusCode().is2xxSuccessful()) {
+                cacheRegion.invalidate();
+            }
+        });
+    }
+
+    private <T> Mono<ResponseEntity<Object>> send(HttpMethod method, String path, Long userId,
+                                                  @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                  boolean raw) {
+        if (method == HttpMethod.GET) {
+            return inFlightGets.execute(new InFlightGet(path, userId, parameters, raw),
+                    () -> sendUpstream(method, path, userId, parameters, body, raw));
+        }
+        return sendUpstream(method, path, userId, parameters, body, raw);
+    }
+
+    private <T> Mono<ResponseEntity<Object>> sendUpstream(HttpMethod method, String path, Long userId,
+                                                          @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                          boolean raw) {
+        Mono<ResponseEntity<Object>> call = webClient != null
+                ? exchangeNonBlocking(webClient, method, path, userId, parameters, body)
+                : Mono.fromCallable(() -> exchangeBlocking(method, path, userId, parameters, body, raw));
+        return endpoint != null ? endpoint.protect(call) : call;
+    }
+
+    private <T> Mono<ResponseEntity<Object>> exchangeNonBlocking(WebClient webClient, HttpMethod method, String path,
+                                                                  Long userId,
+                                                                  @Nullable Map<String, Object> parameters,
+                                                                  @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(defaultHeaders(userId)));
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+
+        return requestWithBody.exchangeToMono(response -> response.bodyToMono(byte[].class)
+                .map(responseBody -> rawGatewayResponse(response.statusCode(),
+                        response.headers().asHttpHeaders(), responseBody))
+                .switchIfEmpty(Mono.fromSupplier(() -> rawGatewayResponse(response.statusCode(),
+                        response.headers().asHttpHeaders(), null))));
+    }
+
+    private <T> ResponseEntity<Object> exchangeBlocking(HttpMethod method, String path, Long userId,
+                                                        @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                        boolean raw) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+            if (raw) {
+                ResponseEntity<byte[]> shareitServerResponse = exchange(path, method, requestEntity, byte[].class,
+                        parameters);
+                return rawGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                        shareitServerResponse.getBody());
             }
+            return prepareGatewayResponse(exchange(path, method, requestEntity, Object.class, parameters));
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return rawGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+    }
+
+    private <T, R> ResponseEntity<R> exchange(String path, HttpMethod method, HttpEntity<T> requestEntity,
+                                              Class<R> responseType, @Nullable Map<String, Object> parameters) {
+        if (parameters != null) {
+            return rest.exchange(path, method, requestEntity, responseType, parameters);
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return rest.exchange(path, method, requestEntity, responseType);
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -113,12 +240,21 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    private static ResponseEntity<Object> rawGatewayResponse(HttpStatus status, @Nullable HttpHeaders headers,
+                                                             @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status)
+                .headers(forwardedHeaders(headers));
+
+        if (body == null || body.length == 0) {
+            return responseBuilder.build();
         }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        return responseBuilder.body(body);
+    }
+
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .headers(forwardedHeaders(response.getHeaders()));
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -126,4 +262,32 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
+
+    /**
+     * Заголовки ответа shareit-server для клиента gateway (X-Next-Cursor, Content-Type и т.д.)
+     * без {@link #NOT_FORWARDED_HEADERS}.
+     */
+    private static HttpHeaders forwardedHeaders(@Nullable HttpHeaders shareitServerHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        if (shareitServerHeaders == null) {
+            return headers;
+        }
+        shareitServerHeaders.forEach((name, values) -> {
+            if (NOT_FORWARDED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
+
+    /**
+     * Одинаковые одновременные GET (путь, параметры, X-Sharer-User-Id) выполняются одним запросом к shareit-server.
+     */
+    @lombok.Value
+    private static class InFlightGet {
+        String path;
+        Long userId;
+        Map<String, Object> parameters;
+        boolean raw;
+    }
 }
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of successful shareit-server GET responses, keyed by path with query and X-Sharer-User-Id
+ * (owners get lastBooking/nextBooking in the same item, others do not).
+ * Entries are grouped into regions by API prefix and dropped when a mutation passes through a client whose
+ * region depends on them; the TTL bounds staleness from changes the gateway cannot see, such as bookings
+ * becoming past ones.
+ */
+@Component
+public class GatewayResponseCache {
+    private final Cache<Key, CachedResponse> responses;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public GatewayResponseCache(@Value("${shareit-server.cache.max-size:10000}") long maxSize,
+                                @Value("${shareit-server.cache.ttl:30s}") Duration ttl) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * @param name               region of the client's own cached reads
+     * @param invalidatedRegions regions whose responses embed data changed by this client's mutations
+     */
+    public Region region(String name, String... invalidatedRegions) {
+        return new Region(name, List.of(invalidatedRegions));
+    }
+
+    private AtomicLong generation(String region) {
+        return generations.computeIfAbsent(region, r -> new AtomicLong());
+    }
+
+    public class Region {
+        private final String name;
+        private final List<String> invalidatedRegions;
+
+        private Region(String name, List<String> invalidatedRegions) {
+            this.name = name;
+            this.invalidatedRegions = invalidatedRegions;
+        }
+
+        @Nullable
+        ResponseEntity<Object> get(String path, @Nullable Long userId) {
+            CachedResponse cached = responses.getIfPresent(new Key(name, path, userId));
+            return cached != null ? cached.toResponseEntity() : null;
+        }
+
+        /**
+         * Read before the upstream call and passed to {@link #put}, so that a response fetched
+         * while a mutation was invalidating the region is not stored.
+         */
+        long generation() {
+            return GatewayResponseCache.this.generation(name).get();
+        }
+
+        /**
+         * @param headers response headers as forwarded to the client, stored along with the body
+         */
+        ResponseEntity<Object> put(String path, @Nullable Long userId, long generation, HttpStatus status,
+                                   HttpHeaders headers, byte[] body) {
+            CachedResponse cached = new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), body,
+                    "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+            if (generation() == generation) {
+                Key key = new Key(name, path, userId);
+                responses.put(key, cached);
+                if (generation() != generation) {
+                    responses.invalidate(key);
+                }
+            }
+            return cached.toResponseEntity();
+        }
+
+        void invalidate() {
+            invalidateRegion(name);
+            invalidatedRegions.forEach(GatewayResponseCache.this::invalidateRegion);
+        }
+    }
+
+    private void invalidateRegion(String region) {
+        generation(region).incrementAndGet();
+        responses.asMap().keySet().removeIf(key -> key.getRegion().equals(region));
+    }
+
+    @lombok.Value
+    private static class Key {
+        String region;
+        String path;
+        Long userId;
+    }
+
+    @lombok.Value
+    private static class CachedResponse {
+        HttpStatus status;
+        HttpHeaders headers;
+        byte[] body;
+        String etag;
+
+        ResponseEntity<Object> toResponseEntity() {
+            return ResponseEntity.status(status)
+                    .headers(headers)
+                    .eTag(etag)
+                    .body(body);
+        }
+    }
+}
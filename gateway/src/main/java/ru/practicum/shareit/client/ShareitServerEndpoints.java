@@ -0,0 +1,146 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.util.exceptions.ShareitServerTimeoutException;
+import ru.practicum.shareit.util.exceptions.ShareitServerUnavailableException;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Per-endpoint (/bookings, /items, /users, /requests) protection of calls to shareit-server:
+ * a time budget, a bulkhead on concurrent calls and a circuit breaker with half-open probing,
+ * all configured under resilience4j.*.instances.&lt;endpoint&gt;.
+ */
+@Component
+public class ShareitServerEndpoints {
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final TimeLimiterRegistry timeLimiters;
+    private final CloseableHttpClient shareitServerHttpClient;
+    private final Duration readTimeout;
+
+    public ShareitServerEndpoints(CircuitBreakerRegistry circuitBreakers,
+                                  BulkheadRegistry bulkheads,
+                                  TimeLimiterRegistry timeLimiters,
+                                  CloseableHttpClient shareitServerHttpClient,
+                                  @Value("${shareit-server.read-timeout:10s}") Duration readTimeout) {
+        this.circuitBreakers = circuitBreakers;
+        this.bulkheads = bulkheads;
+        this.timeLimiters = timeLimiters;
+        this.shareitServerHttpClient = shareitServerHttpClient;
+        this.readTimeout = readTimeout;
+    }
+
+    public Endpoint endpoint(String apiPrefix) {
+        String name = apiPrefix.startsWith("/") ? apiPrefix.substring(1) : apiPrefix;
+        return new Endpoint(name, circuitBreakers.circuitBreaker(name), bulkheads.bulkhead(name),
+                timeLimiters.timeLimiter(name), shareitServerHttpClient, readTimeout);
+    }
+
+    public static class Endpoint {
+        private final String name;
+        private final CircuitBreaker circuitBreaker;
+        private final Bulkhead bulkhead;
+        private final TimeLimiter timeLimiter;
+        private final CloseableHttpClient httpClient;
+        private final Duration readTimeout;
+
+        private Endpoint(String name, CircuitBreaker circuitBreaker, Bulkhead bulkhead, TimeLimiter timeLimiter,
+                         CloseableHttpClient httpClient, Duration readTimeout) {
+            this.name = name;
+            this.circuitBreaker = circuitBreaker;
+            this.bulkhead = bulkhead;
+            this.timeLimiter = timeLimiter;
+            this.httpClient = httpClient;
+            this.readTimeout = readTimeout;
+        }
+
+        /**
+         * Request factory over the shared connection pool with the socket read timeout set to the shorter of
+         * shareit-server.read-timeout and this endpoint's time budget: on the blocking path the time limiter
+         * alone cannot free a thread stuck in a read.
+         */
+        public ClientHttpRequestFactory requestFactory() {
+            HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+            Duration socketTimeout = readTimeout.compareTo(timeBudget()) < 0 ? readTimeout : timeBudget();
+            requestFactory.setReadTimeout((int) socketTimeout.toMillis());
+            return requestFactory;
+        }
+
+        public Duration timeBudget() {
+            return timeLimiter.getTimeLimiterConfig().getTimeoutDuration();
+        }
+
+        /**
+         * 5xx answers count as failures for the circuit breaker but are still returned to the caller as is.
+         */
+        Mono<ResponseEntity<Object>> protect(Mono<ResponseEntity<Object>> call) {
+            return call
+                    .flatMap(response -> response.getStatusCode().is5xxServerError()
+                            ? Mono.<ResponseEntity<Object>>error(new ServerErrorResponse(response))
+                            : Mono.just(response))
+                    .transformDeferred(BulkheadOperator.of(bulkhead))
+                    .transformDeferred(TimeLimiterOperator.of(timeLimiter))
+                    .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                    .onErrorResume(ServerErrorResponse.class, e -> Mono.just(e.response))
+                    .onErrorMap(this::translate);
+        }
+
+        private Throwable translate(Throwable e) {
+            if (e instanceof CallNotPermittedException) {
+                return new ShareitServerUnavailableException("circuit breaker /" + name + " открыт", e);
+            }
+            if (e instanceof BulkheadFullException) {
+                return new ShareitServerUnavailableException("превышено число одновременных запросов к /" + name, e);
+            }
+            if (e instanceof TimeoutException || hasCause(e, SocketTimeoutException.class)
+                    || hasCause(e, ReadTimeoutException.class)) {
+                return new ShareitServerTimeoutException("/" + name + " не ответил за " + timeBudget(), e);
+            }
+            if (e instanceof ResourceAccessException || e instanceof WebClientRequestException) {
+                return new ShareitServerUnavailableException("нет соединения с /" + name, e);
+            }
+            return e;
+        }
+
+        private static boolean hasCause(Throwable e, Class<? extends Throwable> type) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (type.isInstance(cause)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class ServerErrorResponse extends RuntimeException {
+        private final transient ResponseEntity<Object> response;
+
+        ServerErrorResponse(ResponseEntity<Object> response) {
+            super("shareit-server ответил " + response.getStatusCode(), null, false, false);
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.client;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Shares one in-flight call between concurrent callers with the same key.
+ * The first caller starts the call; callers arriving before it completes get the same result.
+ * Nothing is kept after completion, so a later caller always starts a fresh call.
+ */
+class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> {
+            CompletableFuture<V> started = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, started);
+            if (existing != null) {
+                return Mono.fromFuture(existing.copy());
+            }
+
+            started.whenComplete((value, error) -> inFlight.remove(key, started));
+            // The call is not tied to the first caller's subscription: cancelling it must not fail the others.
+            call.get().subscribe(started::complete, started::completeExceptionally, () -> started.complete(null));
+            return Mono.fromFuture(started.copy());
+        });
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import ru.practicum.shareit.ratelimit.RateLimitFilter;
+import ru.practicum.shareit.ratelimit.TokenBucketRateLimiter;
+
+import java.time.Duration;
+
+/**
+ * Per-user rate limit and global in-flight cap, applied before any request reaches a gateway client.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public TokenBucketRateLimiter userRateLimiter(
+            @Value("${shareit.rate-limit.permits-per-second:100}") double permitsPerSecond,
+            @Value("${shareit.rate-limit.burst:200}") int burst,
+            @Value("${shareit.rate-limit.max-users:100000}") long maxUsers,
+            @Value("${shareit.rate-limit.idle-expiry:10m}") Duration idleExpiry) {
+        return new TokenBucketRateLimiter(permitsPerSecond, burst, maxUsers, idleExpiry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            TokenBucketRateLimiter userRateLimiter,
+            @Value("${shareit.rate-limit.max-in-flight:${shareit-server.pool.max-total:200}}") int maxInFlight,
+            ObjectMapper objectMapper) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(userRateLimiter, maxInFlight, objectMapper));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
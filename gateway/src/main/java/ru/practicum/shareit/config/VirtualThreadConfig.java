@@ -0,0 +1,45 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in mode (shareit.threads.virtual.enabled=true, JDK 21+) that runs Tomcat request handling on virtual threads.
+ * The blocking RestTemplate call then parks a virtual thread instead of a Tomcat worker; concurrency towards
+ * shareit-server stays bounded by shareit-server.pool.max-total, and callers beyond it wait up to
+ * shareit-server.pool.acquire-timeout for a connection.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        log.info("Обработка запросов Tomcat переведена на виртуальные потоки");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    /**
+     * Looked up reflectively so the module still compiles for Java 11; fails fast on an older runtime.
+     * The modules share no code, so shareit-server keeps an identical copy; change both together.
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Виртуальные потоки требуют JDK 21+, текущая версия --> "
+                    + Runtime.version(), e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+/**
+ * Reactor Netty connector used by gateway clients when shareit-server.reactive=true.
+ * Upstream calls run on a small fixed set of event-loop threads instead of holding a Tomcat thread each.
+ * The connector bean is picked up by the auto-configured WebClient.Builder.
+ */
+@Configuration
+public class WebClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareitServerConnectionProvider(
+            @Value("${shareit-server.pool.max-total:200}") int maxConnections,
+            @Value("${shareit-server.pool.acquire-timeout:1s}") Duration acquireTimeout,
+            @Value("${shareit-server.pool.keep-alive:30s}") Duration keepAlive,
+            @Value("${shareit-server.pool.idle-eviction:60s}") Duration idleEviction) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(acquireTimeout)
+                .maxIdleTime(keepAlive)
+                .evictInBackground(idleEviction)
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * 0 means one event-loop per CPU core (the Reactor Netty default).
+     */
+    @Bean(destroyMethod = "dispose")
+    public LoopResources shareitServerLoopResources(
+            @Value("${shareit-server.event-loop-threads:0}") int eventLoopThreads) {
+        int workerCount = eventLoopThreads > 0 ? eventLoopThreads : LoopResources.DEFAULT_IO_WORKER_COUNT;
+        return LoopResources.create("shareit-server", workerCount, true);
+    }
+
+    @Bean
+    public ClientHttpConnector shareitServerConnector(
+            ConnectionProvider shareitServerConnectionProvider,
+            LoopResources shareitServerLoopResources,
+            @Value("${shareit-server.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-server.read-timeout:10s}") Duration readTimeout,
+            @Value("${shareit-server.compression:true}") boolean compression) {
+        HttpClient httpClient = HttpClient.create(shareitServerConnectionProvider)
+                .runOn(shareitServerLoopResources)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout)
+                .compress(compression);
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
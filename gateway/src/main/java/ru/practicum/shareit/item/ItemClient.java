@@ -5,14 +5,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.ShareitServerEndpoints;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.util.Const;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
@@ -21,44 +25,76 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value(Const.SERVER_URL) String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value(Const.SERVER_URL) String serverUrl,
+                      @Value(Const.PASS_THROUGH) boolean passThrough,
+                      @Value(Const.REACTIVE) boolean reactive,
+                      RestTemplateBuilder builder,
+                      WebClient.Builder webClientBuilder,
+                      GatewayResponseCache responseCache,
+                      ShareitServerEndpoints endpoints) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> endpoints.endpoint(API_PREFIX).requestFactory())
+                        .build(),
+                reactive
+                        ? webClientBuilder.uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX)).build()
+                        : null,
+                passThrough,
+                responseCache.region(API_PREFIX, "/requests"),
+                endpoints.endpoint(API_PREFIX)
         );
     }
 
-    public ResponseEntity<Object> create(Long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> create(Long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> getById(Long userId, Long itemId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> getById(Long userId, Long itemId) {
+        return cachedGet("/" + itemId, userId, null);
     }
 
-    public ResponseEntity<Object> update(Long userId, ItemDto itemDto, Long itemId) {
+    public Mono<ResponseEntity<Object>> update(Long userId, ItemDto itemDto, Long itemId) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public void deleteById(Long itemId) {
-        delete("/" + itemId);
+    public Mono<ResponseEntity<Object>> deleteById(Long itemId) {
+        return delete("/" + itemId);
     }
 
-    public ResponseEntity<Object> getListByUser(Long userId) {
-        return get("/", userId);
+    public Mono<ResponseEntity<Object>> getListByUser(Long userId, Integer from, Integer size, Long afterId) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("/?from=" + from + "&size=" + size + afterIdParameter(afterId), userId, parameters);
     }
 
-    public ResponseEntity<Object> searchItemsBySubstring(String text) {
+    public Mono<ResponseEntity<Object>> searchItemsBySubstring(String text, Integer from, Integer size, Long afterId) {
         Map<String, Object> parameters = Map.of(
-                "text", text
+                "text", text,
+                "from", from,
+                "size", size
         );
-        return get("/search?text=" + text, parameters);
+        return cachedGet("/search?text=" + text + "&from=" + from + "&size=" + size + afterIdParameter(afterId),
+                null, parameters);
     }
 
-    public ResponseEntity<Object> addComment(CommentRequestDto commentRequestDto, long userId, long itemId) {
+    public Mono<ResponseEntity<Object>> addComment(CommentRequestDto commentRequestDto, long userId, long itemId) {
         return post("/" + itemId + "/comment", userId, commentRequestDto);
     }
 
+    public Mono<ResponseEntity<Object>> getAvailability(Long userId, Long itemId, LocalDateTime from,
+                                                        LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from=" + from + "&to=" + to, userId, parameters);
+    }
+
+    private String afterIdParameter(Long afterId) {
+        return afterId == null ? "" : "&afterId=" + afterId;
+    }
+
 }
\ No newline at end of file
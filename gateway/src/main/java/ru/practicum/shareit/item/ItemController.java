@@ -3,6 +3,7 @@ package ru.practicum.shareit.item;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -14,11 +15,16 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.util.exceptions.DateTimeException;
 import ru.practicum.shareit.util.groups.Create;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 
 @Controller
 @RequestMapping(path = "/items")
@@ -85,21 +91,21 @@ public class ItemController {
 
     @PostMapping()
     @Validated({Create.class})
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                         @Valid @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                               @Valid @RequestBody ItemDto itemDto) {
         log.info("POST-request: создать Item --> {} для userId --> {}",itemDto,  userId);
         return itemClient.create(userId, itemDto);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getById(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> getById(@RequestHeader("X-Sharer-User-Id") Long userId,
                                    @PathVariable Long itemId) {
         log.info("GET-request: Получить item для itemId --> {} для userId --> {}", itemId, userId);
         return itemClient.getById(userId, itemId);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> update(@RequestHeader("X-Sharer-User-Id") Long userId,
                           @RequestBody ItemDto itemDto,
                           @PathVariable Long itemId) {
         log.info("PATCH-request: Обновить item для itemId --> {}, userId --> {}, item --> {}",
@@ -109,27 +115,36 @@ public class ItemController {
 
     //
     @DeleteMapping("/{itemId}")
-    public void delete(@PathVariable Long itemId) {
+    public Mono<ResponseEntity<Object>> delete(@PathVariable Long itemId) {
         log.info("DELETE-request: Удалить item для itemId --> {}", itemId);
-        itemClient.deleteById(itemId);
+        return itemClient.deleteById(itemId);
     }
 
     @GetMapping()
-    public ResponseEntity<Object> getListByUser(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("GET-request: получение списка items для userId --> {}", userId);
-//        return itemService.getListByUser(userId);
-        return itemClient.getListByUser(userId);
+    public Mono<ResponseEntity<Object>> getListByUser(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @Positive @RequestParam(name = "afterId", required = false) Long afterId) {
+        log.info("GET-request: получение списка items для userId --> {}, from --> {}, size --> {}, afterId --> {}",
+                userId, from, size, afterId);
+        return itemClient.getListByUser(userId, from, size, afterId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItemsBySubstring(@RequestParam("text") String text) {
-        log.info("GET-request: Поиск доступных к бронированию items по фразе --> {}", text);
-        return itemClient.searchItemsBySubstring(text);
+    public Mono<ResponseEntity<Object>> searchItemsBySubstring(
+            @RequestParam("text") String text,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @Positive @RequestParam(name = "afterId", required = false) Long afterId) {
+        log.info("GET-request: Поиск доступных к бронированию items по фразе --> {}, from --> {}, size --> {}, " +
+                "afterId --> {}", text, from, size, afterId);
+        return itemClient.searchItemsBySubstring(text, from, size, afterId);
     }
 
     @PostMapping("{itemId}/comment")
     @Validated({Create.class})
-    public ResponseEntity<Object> addComment(@RequestHeader("X-Sharer-User-Id") long userId,
+    public Mono<ResponseEntity<Object>> addComment(@RequestHeader("X-Sharer-User-Id") long userId,
                                          @Valid @RequestBody CommentRequestDto commentRequestDto,
                                          @PathVariable long itemId) {
         log.info("POST-request Для userId --> {} и itemId --> {} добавить comment --> {}",
@@ -138,4 +153,18 @@ public class ItemController {
         return itemClient.addComment(commentRequestDto, userId, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PathVariable Long itemId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("GET-request: Получить занятость itemId --> {} с {} по {} для userId --> {}",
+                itemId, from, to, userId);
+        if (!from.isBefore(to)) {
+            throw new DateTimeException("Начало периода должно быть раньше конца");
+        }
+        return itemClient.getAvailability(userId, itemId, from, to);
+    }
+
 }
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.util.errors.ErrorResponse;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control in front of the gateway clients: a token bucket per X-Sharer-User-Id (per remote address for
+ * requests without the header) and a global cap on requests in flight to shareit-server.
+ * Rejected requests get 429 with Retry-After; the in-flight permit of an async request is released only when
+ * the async processing completes.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final Semaphore inFlight;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(TokenBucketRateLimiter rateLimiter, int maxInFlight, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String userId = request.getHeader(USER_ID_HEADER);
+        String key = userId != null ? userId : "addr:" + request.getRemoteAddr();
+
+        long waitNanos = rateLimiter.tryAcquire(key);
+        if (waitNanos > 0) {
+            log.warn("Превышен лимит запросов для {} --> {} {}", key, request.getMethod(), request.getRequestURI());
+            reject(response, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1,
+                    "Слишком много запросов, повторите позже");
+            return;
+        }
+
+        if (!inFlight.tryAcquire()) {
+            log.warn("Превышено число одновременных запросов к shareit-server --> {} {}",
+                    request.getMethod(), request.getRequestURI());
+            reject(response, 1, "Сервер перегружен, повторите позже");
+            return;
+        }
+
+        Runnable release = releaseOnce();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private Runnable releaseOnce() {
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                inFlight.release();
+            }
+        };
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(message));
+    }
+
+    private static class ReleasingAsyncListener implements AsyncListener {
+        private final Runnable release;
+
+        ReleasingAsyncListener(Runnable release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
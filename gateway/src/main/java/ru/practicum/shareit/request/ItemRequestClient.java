@@ -4,10 +4,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.ShareitServerEndpoints;
 import ru.practicum.shareit.util.Const;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
@@ -19,27 +22,39 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value(Const.SERVER_URL) String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value(Const.SERVER_URL) String serverUrl,
+                             @Value(Const.PASS_THROUGH) boolean passThrough,
+                             @Value(Const.REACTIVE) boolean reactive,
+                             RestTemplateBuilder builder,
+                             WebClient.Builder webClientBuilder,
+                             GatewayResponseCache responseCache,
+                             ShareitServerEndpoints endpoints) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> endpoints.endpoint(API_PREFIX).requestFactory())
+                        .build(),
+                reactive
+                        ? webClientBuilder.uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX)).build()
+                        : null,
+                passThrough,
+                responseCache.region(API_PREFIX),
+                endpoints.endpoint(API_PREFIX)
         );
     }
 
 
-    public ResponseEntity<Object> create(Long userId, ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<Object>> create(Long userId, ItemRequestDto itemRequestDto) {
         return post("", userId, itemRequestDto);
     }
 
 
-    public ResponseEntity<Object> getOwnRequests(Long userId) {
+    public Mono<ResponseEntity<Object>> getOwnRequests(Long userId) {
         return get("", userId);
     }
 
 
-    public ResponseEntity<Object> getOtherUsersRequests(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getOtherUsersRequests(Long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -48,7 +63,7 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from=" + from + "&size=" + size, userId, parameters);
     }
 
-    public ResponseEntity<Object> getRequestById(Long userId, Long requestId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<Object>> getRequestById(Long userId, Long requestId) {
+        return cachedGet("/" + requestId, userId, null);
     }
 }
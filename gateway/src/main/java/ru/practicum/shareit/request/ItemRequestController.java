@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.util.groups.Create;
 
@@ -31,20 +32,20 @@ public class ItemRequestController {
 
     @PostMapping()
     @Validated({Create.class})
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                         @Valid @RequestBody ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                               @Valid @RequestBody ItemRequestDto itemRequestDto) {
         log.info("POST-request: create запроса от пользователя для userId --> {}, itemRequest --> {}", userId, itemRequestDto);
         return itemRequestClient.create(userId, itemRequestDto);
     }
 
     @GetMapping()
-    public ResponseEntity<Object> getOwnRequests(@RequestHeader("X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> getOwnRequests(@RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("GET-request: получить инфу о своих запросах и ответах для userId --> {} ", userId);
         return itemRequestClient.getOwnRequests(userId);
     }
 
     @GetMapping({"all"})
-    public ResponseEntity<Object> getOtherUsersRequests(
+    public Mono<ResponseEntity<Object>> getOtherUsersRequests(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
             @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
@@ -54,7 +55,7 @@ public class ItemRequestController {
     }
 
     @GetMapping("{requestId}")
-    public ResponseEntity<Object> getRequestById(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> getRequestById(@RequestHeader("X-Sharer-User-Id") Long userId,
                                             @PathVariable Long requestId) {
         log.info("GET-request: получить инфу для userId --> {}, request --> {}", userId, requestId);
         return itemRequestClient.getRequestById(userId, requestId);
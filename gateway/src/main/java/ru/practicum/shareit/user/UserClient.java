@@ -5,10 +5,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.ShareitServerEndpoints;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.util.Const;
 
@@ -19,32 +22,44 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value(Const.SERVER_URL) String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value(Const.SERVER_URL) String serverUrl,
+                      @Value(Const.PASS_THROUGH) boolean passThrough,
+                      @Value(Const.REACTIVE) boolean reactive,
+                      RestTemplateBuilder builder,
+                      WebClient.Builder webClientBuilder,
+                      GatewayResponseCache responseCache,
+                      ShareitServerEndpoints endpoints) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> endpoints.endpoint(API_PREFIX).requestFactory())
+                        .build(),
+                reactive
+                        ? webClientBuilder.uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX)).build()
+                        : null,
+                passThrough,
+                responseCache.region(API_PREFIX, "/items", "/requests"),
+                endpoints.endpoint(API_PREFIX)
         );
     }
 
-    public ResponseEntity<Object> create(UserDto userDto) {
+    public Mono<ResponseEntity<Object>> create(UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> getUserById(Long id) {
-        return get("/" + id, id);
+    public Mono<ResponseEntity<Object>> getUserById(Long id) {
+        return cachedGet("/" + id, id, null);
     }
 
-    public ResponseEntity<Object> update(UserDto userDto, Long id) {
+    public Mono<ResponseEntity<Object>> update(UserDto userDto, Long id) {
         return patch("/" + id, id, userDto);
     }
 
-    public ResponseEntity<Object> deleteById(Long id) {
+    public Mono<ResponseEntity<Object>> deleteById(Long id) {
         return delete("/" + id, id);
     }
 
-    public ResponseEntity<Object> findAll() {
+    public Mono<ResponseEntity<Object>> findAll() {
         return get("");
     }
 }
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.util.groups.Create;
 
@@ -28,32 +29,32 @@ public class UserController {
 
     @PostMapping()
     @Validated({Create.class})
-    public ResponseEntity<Object> create(@Valid @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> create(@Valid @RequestBody UserDto userDto) {
         log.info("POST-client request создать User --> {}", userDto);
         return userClient.create(userDto);
     }
 
     @GetMapping("{id}")
-    public ResponseEntity<Object> getById(@PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> getById(@PathVariable Long id) {
         log.info("GET-request Получить user по userId --> {}", id);
         return userClient.getUserById(id);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> update(@RequestBody UserDto userDto,
-                                         @PathVariable("id") Long id) {
+    public Mono<ResponseEntity<Object>> update(@RequestBody UserDto userDto,
+                                               @PathVariable("id") Long id) {
         log.info("PATCH-request изменить user для userId --> {}", id);
         return userClient.update(userDto, id);
     }
 
     @DeleteMapping(value = "/{id}")
-    public ResponseEntity<Object> delete(@PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> delete(@PathVariable Long id) {
         log.info("DELETE-удалить user для userId --> {}", id);
         return userClient.deleteById(id);
     }
 
     @GetMapping()
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         log.info("GET-получить All Users");
         return userClient.findAll();
     }
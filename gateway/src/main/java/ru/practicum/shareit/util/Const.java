@@ -4,4 +4,8 @@ public class Const {
 
      public static final String SERVER_URL = "${shareit-server.url}";
 
+     public static final String PASS_THROUGH = "${shareit-server.pass-through:true}";
+
+     public static final String REACTIVE = "${shareit-server.reactive:false}";
+
 }
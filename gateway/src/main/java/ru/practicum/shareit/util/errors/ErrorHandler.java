@@ -11,6 +11,8 @@ import ru.practicum.shareit.util.exceptions.AccessIsNotAllowedException;
 import ru.practicum.shareit.util.exceptions.EmailAlreadyExistsException;
 import ru.practicum.shareit.util.exceptions.DateTimeException;
 import ru.practicum.shareit.util.exceptions.ObjectNotFoundException;
+import ru.practicum.shareit.util.exceptions.ShareitServerTimeoutException;
+import ru.practicum.shareit.util.exceptions.ShareitServerUnavailableException;
 import ru.practicum.shareit.util.exceptions.UnavailableItemException;
 import ru.practicum.shareit.util.exceptions.UnsupportedStatusException;
 
@@ -48,6 +50,20 @@ public class ErrorHandler {
         return new ErrorResponse(e.getMessage());
     }
 
+    @ExceptionHandler(ShareitServerUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleServerUnavailable(final RuntimeException e) {
+        log.warn("503 shareit-server недоступен --> {}", e.getMessage());
+        return new ErrorResponse("Сервис временно недоступен: " + e.getMessage());
+    }
+
+    @ExceptionHandler(ShareitServerTimeoutException.class)
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    public ErrorResponse handleServerTimeout(final RuntimeException e) {
+        log.warn("504 shareit-server не ответил вовремя --> {}", e.getMessage());
+        return new ErrorResponse("Превышено время ожидания ответа: " + e.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleUnknownError(final Exception e) {
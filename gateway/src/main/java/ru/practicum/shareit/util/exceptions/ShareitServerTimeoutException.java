@@ -0,0 +1,7 @@
+package ru.practicum.shareit.util.exceptions;
+
+public class ShareitServerTimeoutException extends RuntimeException {
+    public ShareitServerTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.util.exceptions;
+
+public class ShareitServerUnavailableException extends RuntimeException {
+    public ShareitServerUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,160 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.reactive.function.client.WebClient;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class GatewayResponseCacheTest {
+    private HttpServer stubServer;
+    private final Map<String, AtomicInteger> serverHits = new ConcurrentHashMap<>();
+    private MockMvc gateway;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubServer.createContext("/items", exchange -> {
+            String key = exchange.getRequestMethod() + " " + exchange.getRequestURI()
+                    + " " + exchange.getRequestHeaders().getFirst("X-Sharer-User-Id");
+            int hit = serverHits.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+            byte[] body = ("{\"id\":1,\"name\":\"item\",\"hit\":" + hit + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stubServer.start();
+
+        String serverUrl = "http://localhost:" + stubServer.getAddress().getPort();
+        ItemClient itemClient = new ItemClient(serverUrl, false, false, new RestTemplateBuilder(),
+                WebClient.builder(),
+                new GatewayResponseCache(100, Duration.ofMinutes(1)),
+                new ShareitServerEndpoints(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                        TimeLimiterRegistry.ofDefaults(), HttpClients.createDefault(), Duration.ofSeconds(10)));
+        // DTOs are immutable and bound through their constructors, as with Boot's auto-configured ObjectMapper
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new ParameterNamesModule())
+                .build();
+        gateway = MockMvcBuilders.standaloneSetup(new ItemController(itemClient))
+                .setMessageConverters(new ByteArrayHttpMessageConverter(),
+                        new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        stubServer.stop(0);
+    }
+
+    @Test
+    public void getById_whenRepeated_serveFromCacheWithSameEtag() throws Exception {
+        String etag = perform(get("/items/1").header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        perform(get("/items/1").header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().json("{\"hit\":1}"));
+
+        assertEquals(1, hits("GET /items/1 1"));
+    }
+
+    @Test
+    public void getById_whenOtherUser_cacheSeparately() throws Exception {
+        perform(get("/items/1").header("X-Sharer-User-Id", 1L)).andExpect(status().isOk());
+        perform(get("/items/1").header("X-Sharer-User-Id", 2L)).andExpect(status().isOk());
+
+        assertEquals(1, hits("GET /items/1 1"));
+        assertEquals(1, hits("GET /items/1 2"));
+    }
+
+    @Test
+    public void getById_whenIfNoneMatchesEtag_returnNotModifiedWithoutBody() throws Exception {
+        String etag = perform(get("/items/1").header("X-Sharer-User-Id", 1L))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        perform(get("/items/1").header("X-Sharer-User-Id", 1L).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+
+        assertEquals(1, hits("GET /items/1 1"));
+    }
+
+    @Test
+    public void getById_afterUpdate_fetchFreshResponse() throws Exception {
+        perform(get("/items/1").header("X-Sharer-User-Id", 1L)).andExpect(status().isOk());
+
+        perform(patch("/items/1").header("X-Sharer-User-Id", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"new name\"}"))
+                .andExpect(status().isOk());
+
+        perform(get("/items/1").header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"hit\":2}"));
+        assertEquals(2, hits("GET /items/1 1"));
+    }
+
+    @Test
+    public void search_whenRepeated_serveFromCache() throws Exception {
+        perform(get("/items/search").param("text", "дрель")).andExpect(status().isOk());
+        perform(get("/items/search").param("text", "дрель")).andExpect(status().isOk());
+
+        assertEquals(1, serverHits.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith("GET /items/search"))
+                .mapToInt(entry -> entry.getValue().get())
+                .sum());
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult asyncResult = gateway.perform(request).andReturn();
+        return gateway.perform(asyncDispatch(asyncResult));
+    }
+
+    private int hits(String key) {
+        AtomicInteger hits = serverHits.get(key);
+        return hits == null ? 0 : hits.get();
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.reactive.function.client.WebClient;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Gateway против stub-сервера: в режиме pass-through и в неблокирующем режиме на WebClient
+ * тело и Content-Type ответа доходят до клиента без изменений.
+ */
+public class PassThroughResponseTest {
+    private static final int ITEMS_IN_RESPONSE = 200;
+
+    private static HttpServer stubServer;
+    private static byte[] stubBody;
+
+    @BeforeAll
+    public static void startStubServer() throws IOException {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (long i = 1; i <= ITEMS_IN_RESPONSE; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", i);
+            item.put("name", "item" + i);
+            item.put("description", "description of item " + i);
+            item.put("available", true);
+            item.put("lastBooking", Map.of("id", i, "bookerId", 2L));
+            item.put("nextBooking", null);
+            item.put("requestId", null);
+            item.put("comments", List.of());
+            items.add(item);
+        }
+        stubBody = new ObjectMapper().writeValueAsBytes(items);
+
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubServer.createContext("/items", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(200, stubBody.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(stubBody);
+            }
+        });
+        stubServer.start();
+    }
+
+    @AfterAll
+    public static void stopStubServer() {
+        stubServer.stop(0);
+    }
+
+    @Test
+    public void getListByUser_whenPassThrough_returnServerBodyAndContentTypeUnchanged() throws Exception {
+        byte[] body = performGetListByUser(gateway(true, false))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        assertArrayEquals(stubBody, body);
+    }
+
+    @Test
+    public void getListByUser_whenReactive_returnServerBodyAndContentTypeUnchanged() throws Exception {
+        byte[] body = performGetListByUser(gateway(true, true))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        assertArrayEquals(stubBody, body);
+    }
+
+    private MockMvc gateway(boolean passThrough, boolean reactive) {
+        String serverUrl = "http://localhost:" + stubServer.getAddress().getPort();
+        ItemClient itemClient = new ItemClient(serverUrl, passThrough, reactive, new RestTemplateBuilder(),
+                WebClient.builder(),
+                new GatewayResponseCache(0, Duration.ZERO),
+                new ShareitServerEndpoints(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                        TimeLimiterRegistry.ofDefaults(), HttpClients.createDefault(), Duration.ofSeconds(10)));
+        return MockMvcBuilders.standaloneSetup(new ItemController(itemClient)).build();
+    }
+
+    private ResultActions performGetListByUser(MockMvc gateway) throws Exception {
+        MvcResult asyncResult = gateway.perform(get("/items").header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return gateway.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,202 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.reactive.function.client.WebClient;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemController;
+import ru.practicum.shareit.util.errors.ErrorHandler;
+import ru.practicum.shareit.util.exceptions.ShareitServerTimeoutException;
+import ru.practicum.shareit.util.exceptions.ShareitServerUnavailableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Fault injection against a local stub of shareit-server with configurable latency and status.
+ */
+public class ShareitServerFaultInjectionTest {
+    private static final Duration TIME_BUDGET = Duration.ofMillis(300);
+    private static final Duration OPEN_STATE_WAIT = Duration.ofMillis(500);
+
+    private HttpServer stubServer;
+    private final AtomicLong latencyMillis = new AtomicLong();
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicInteger serverHits = new AtomicInteger();
+    private CircuitBreakerRegistry circuitBreakers;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubServer.setExecutor(Executors.newCachedThreadPool());
+        stubServer.createContext("/items", exchange -> {
+            serverHits.incrementAndGet();
+            try {
+                Thread.sleep(latencyMillis.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(status.get(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            } catch (IOException e) {
+                // the gateway gave up on this call and closed the connection
+            }
+        });
+        stubServer.start();
+        circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(OPEN_STATE_WAIT)
+                .permittedNumberOfCallsInHalfOpenState(1)
+                .build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        stubServer.stop(0);
+    }
+
+    @Test
+    public void getListByUser_whenServerSlowerThanBudget_failFastWithGatewayTimeout() throws Exception {
+        latencyMillis.set(3_000);
+        MockMvc gateway = MockMvcBuilders.standaloneSetup(new ItemController(itemClient(false, 10)))
+                .setControllerAdvice(new ErrorHandler())
+                .build();
+
+        long startNanos = System.nanoTime();
+        MvcResult asyncResult = gateway.perform(get("/items").header("X-Sharer-User-Id", 1L)).andReturn();
+        gateway.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isGatewayTimeout());
+
+        assertTrue(System.nanoTime() - startNanos < TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    public void getListByUser_whenServerSlowerThanBudgetInReactiveMode_throwTimeout() {
+        latencyMillis.set(3_000);
+        ItemClient itemClient = itemClient(true, 10);
+
+        long startNanos = System.nanoTime();
+        assertThrows(ShareitServerTimeoutException.class,
+                () -> itemClient.getListByUser(1L, 0, 10, null).block(Duration.ofSeconds(5)));
+
+        assertTrue(System.nanoTime() - startNanos < TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    public void getListByUser_whenReadTimeoutShorterThanBudget_failAtReadTimeout() {
+        latencyMillis.set(3_000);
+        ItemClient itemClient = itemClient(false, 10, Duration.ofSeconds(5), Duration.ofMillis(300));
+
+        long startNanos = System.nanoTime();
+        assertThrows(ShareitServerTimeoutException.class,
+                () -> itemClient.getListByUser(1L, 0, 10, null).block(Duration.ofSeconds(10)));
+
+        assertTrue(System.nanoTime() - startNanos < TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    public void getListByUser_whenServerFails_openBreakerThenProbeAndClose() throws Exception {
+        ItemClient itemClient = itemClient(false, 10);
+        status.set(500);
+        for (long userId = 1; userId <= 4; userId++) {
+            ResponseEntity<Object> response = itemClient.getListByUser(userId, 0, 10, null).block();
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakers.circuitBreaker("items").getState());
+
+        assertThrows(ShareitServerUnavailableException.class,
+                () -> itemClient.getListByUser(5L, 0, 10, null).block());
+        assertEquals(4, serverHits.get());
+
+        status.set(200);
+        Thread.sleep(OPEN_STATE_WAIT.toMillis() + 100);
+        ResponseEntity<Object> probe = itemClient.getListByUser(6L, 0, 10, null).block();
+
+        assertEquals(HttpStatus.OK, probe.getStatusCode());
+        assertEquals(5, serverHits.get());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreakers.circuitBreaker("items").getState());
+    }
+
+    @Test
+    public void getListByUser_whenBulkheadFull_rejectWithoutCallingServer() throws Exception {
+        latencyMillis.set(200);
+        ItemClient itemClient = itemClient(true, 1);
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            Future<ResponseEntity<Object>> first = callers.submit(() -> {
+                started.countDown();
+                return itemClient.getListByUser(1L, 0, 10, null).block();
+            });
+            started.await();
+            while (serverHits.get() == 0) {
+                Thread.sleep(5);
+            }
+
+            assertThrows(ShareitServerUnavailableException.class,
+                    () -> itemClient.getListByUser(2L, 0, 10, null).block());
+            assertEquals(HttpStatus.OK, first.get(5, TimeUnit.SECONDS).getStatusCode());
+            assertEquals(1, serverHits.get());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private ItemClient itemClient(boolean reactive, int maxConcurrentCalls) {
+        return itemClient(reactive, maxConcurrentCalls, TIME_BUDGET, Duration.ofSeconds(10));
+    }
+
+    private ItemClient itemClient(boolean reactive, int maxConcurrentCalls, Duration timeBudget,
+                                  Duration readTimeout) {
+        String serverUrl = "http://localhost:" + stubServer.getAddress().getPort();
+        ShareitServerEndpoints endpoints = new ShareitServerEndpoints(
+                circuitBreakers,
+                BulkheadRegistry.of(BulkheadConfig.custom()
+                        .maxConcurrentCalls(maxConcurrentCalls)
+                        .maxWaitDuration(Duration.ZERO)
+                        .build()),
+                TimeLimiterRegistry.of(TimeLimiterConfig.custom().timeoutDuration(timeBudget).build()),
+                HttpClients.createDefault(), readTimeout);
+        return new ItemClient(serverUrl, true, reactive, new RestTemplateBuilder(), WebClient.builder(),
+                new GatewayResponseCache(0, Duration.ZERO), endpoints);
+    }
+}
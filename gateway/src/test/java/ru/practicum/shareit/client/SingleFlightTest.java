@@ -0,0 +1,163 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import ru.practicum.shareit.item.ItemClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SingleFlightTest {
+    private static final int CALLERS = 50;
+    private static final byte[] SEARCH_RESULT = "[{\"id\":1,\"name\":\"дрель\"}]".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer stubServer;
+    private final AtomicInteger serverHits = new AtomicInteger();
+    private final CountDownLatch firstRequestReceived = new CountDownLatch(1);
+    private final CountDownLatch releaseResponse = new CountDownLatch(1);
+    private ExecutorService callers;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubServer.setExecutor(Executors.newCachedThreadPool());
+        stubServer.createContext("/items", exchange -> {
+            serverHits.incrementAndGet();
+            firstRequestReceived.countDown();
+            try {
+                releaseResponse.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(200, SEARCH_RESULT.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(SEARCH_RESULT);
+            }
+        });
+        stubServer.start();
+        callers = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        releaseResponse.countDown();
+        callers.shutdownNow();
+        stubServer.stop(0);
+    }
+
+    @Test
+    public void search_whenIdenticalConcurrentCalls_hitServerOnce() throws Exception {
+        ItemClient itemClient = itemClient(false);
+
+        List<Future<ResponseEntity<Object>>> responses = callConcurrently(itemClient);
+
+        assertEquals(1, serverHits.get());
+        for (Future<ResponseEntity<Object>> response : responses) {
+            ResponseEntity<Object> result = response.get(10, TimeUnit.SECONDS);
+            assertEquals(HttpStatus.OK, result.getStatusCode());
+            assertArrayEquals(SEARCH_RESULT, (byte[]) result.getBody());
+        }
+    }
+
+    @Test
+    public void search_whenIdenticalConcurrentCallsInReactiveMode_hitServerOnce() throws Exception {
+        ItemClient itemClient = itemClient(true);
+
+        List<Future<ResponseEntity<Object>>> responses = callConcurrently(itemClient);
+
+        assertEquals(1, serverHits.get());
+        for (Future<ResponseEntity<Object>> response : responses) {
+            assertEquals(HttpStatus.OK, response.get(10, TimeUnit.SECONDS).getStatusCode());
+        }
+    }
+
+    @Test
+    public void getListByUser_whenPreviousCallCompleted_hitServerAgain() {
+        releaseResponse.countDown();
+        ItemClient itemClient = itemClient(false);
+
+        itemClient.getListByUser(1L, 0, 10, null).block();
+        itemClient.getListByUser(1L, 0, 10, null).block();
+
+        assertEquals(2, serverHits.get());
+    }
+
+    @Test
+    public void getListByUser_whenDifferentUsersConcurrently_doNotShareCall() throws Exception {
+        ItemClient itemClient = itemClient(false);
+
+        Future<ResponseEntity<Object>> first = callers.submit(() -> itemClient.getListByUser(1L, 0, 10, null).block());
+        assertTrue(firstRequestReceived.await(10, TimeUnit.SECONDS));
+        Future<ResponseEntity<Object>> second = callers.submit(() -> itemClient.getListByUser(2L, 0, 10, null).block());
+        Thread.sleep(200);
+        releaseResponse.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+
+        assertEquals(2, serverHits.get());
+    }
+
+    /**
+     * Holds the server response until every caller has issued its request, then releases it.
+     */
+    private List<Future<ResponseEntity<Object>>> callConcurrently(ItemClient itemClient) throws Exception {
+        CountDownLatch allCalling = new CountDownLatch(CALLERS);
+        List<Future<ResponseEntity<Object>>> responses = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            responses.add(callers.submit(() -> {
+                allCalling.countDown();
+                return itemClient.searchItemsBySubstring("дрель", 0, 10, null).block(Duration.ofSeconds(10));
+            }));
+        }
+
+        assertTrue(firstRequestReceived.await(10, TimeUnit.SECONDS));
+        assertTrue(allCalling.await(10, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        releaseResponse.countDown();
+        return responses;
+    }
+
+    /**
+     * Response cache is effectively disabled; the sequential tests use the uncached list endpoint anyway.
+     * The time budget is well above the time the response is held, so a cold Netty start cannot trip it.
+     */
+    private ItemClient itemClient(boolean reactive) {
+        String serverUrl = "http://localhost:" + stubServer.getAddress().getPort();
+        return new ItemClient(serverUrl, true, reactive, new RestTemplateBuilder(),
+                WebClient.builder(),
+                new GatewayResponseCache(0, Duration.ZERO),
+                new ShareitServerEndpoints(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                        TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+                                .timeoutDuration(Duration.ofSeconds(5))
+                                .build()),
+                        HttpClients.createDefault(), Duration.ofSeconds(10)));
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.reactive.function.client.WebClient;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Response headers of shareit-server reach the gateway client, except hop-by-hop and body framing ones.
+ */
+public class UpstreamHeadersPassThroughTest {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String NEXT_CURSOR = "MjAyNi0xMC0xN1QxMDowMDowMHw0Mg";
+    private static final byte[] BOOKINGS = "[{\"id\":42}]".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer stubServer;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubServer.createContext("/bookings", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+            exchange.getResponseHeaders().set(NEXT_CURSOR_HEADER, NEXT_CURSOR);
+            exchange.getResponseHeaders().set("Keep-Alive", "timeout=60");
+            exchange.sendResponseHeaders(200, BOOKINGS.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(BOOKINGS);
+            }
+        });
+        stubServer.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        stubServer.stop(0);
+    }
+
+    @Test
+    public void getListByOwner_whenServerReturnsNextCursor_forwardIt() throws Exception {
+        getListByOwner(gateway(false))
+                .andExpect(status().isOk())
+                .andExpect(header().string(NEXT_CURSOR_HEADER, NEXT_CURSOR))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().doesNotExist("Keep-Alive"))
+                .andExpect(content().bytes(BOOKINGS));
+    }
+
+    @Test
+    public void getListByOwner_whenServerReturnsNextCursorInReactiveMode_forwardIt() throws Exception {
+        getListByOwner(gateway(true))
+                .andExpect(status().isOk())
+                .andExpect(header().string(NEXT_CURSOR_HEADER, NEXT_CURSOR))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().doesNotExist("Keep-Alive"))
+                .andExpect(content().bytes(BOOKINGS));
+    }
+
+    private ResultActions getListByOwner(MockMvc gateway) throws Exception {
+        MvcResult asyncResult = gateway.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("state", "ALL")
+                        .param("size", "1"))
+                .andReturn();
+        return gateway.perform(asyncDispatch(asyncResult));
+    }
+
+    private MockMvc gateway(boolean reactive) {
+        String serverUrl = "http://localhost:" + stubServer.getAddress().getPort();
+        BookingClient bookingClient = new BookingClient(serverUrl, true, reactive, new RestTemplateBuilder(),
+                WebClient.builder(),
+                new GatewayResponseCache(0, Duration.ZERO),
+                new ShareitServerEndpoints(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                        TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+                                .timeoutDuration(Duration.ofSeconds(5))
+                                .build()),
+                        HttpClients.createDefault(), Duration.ofSeconds(10)));
+        return MockMvcBuilders.standaloneSetup(new BookingController(bookingClient)).build();
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimitFilterTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void doFilter_whenUserExceedsRate_returnTooManyRequestsWithRetryAfter() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(
+                new TokenBucketRateLimiter(1, 1, 100, Duration.ofMinutes(1)), 10, objectMapper);
+
+        MockHttpServletResponse first = filterRequest(filter, "1");
+        MockHttpServletResponse second = filterRequest(filter, "1");
+        MockHttpServletResponse otherUser = filterRequest(filter, "2");
+
+        assertEquals(HttpStatus.OK.value(), first.getStatus());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), second.getStatus());
+        assertEquals("1", second.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(second.getContentAsString().contains("error"));
+        assertEquals(HttpStatus.OK.value(), otherUser.getStatus());
+    }
+
+    @Test
+    public void doFilter_whenInFlightCapReached_rejectUntilAsyncRequestCompletes() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(
+                new TokenBucketRateLimiter(1000, 1000, 100, Duration.ofMinutes(1)), 1, objectMapper);
+        HttpServlet startsAsync = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                req.startAsync();
+            }
+        };
+        MockHttpServletRequest asyncRequest = request("1");
+        asyncRequest.setAsyncSupported(true);
+        filter.doFilter(asyncRequest, new MockHttpServletResponse(), new MockFilterChain(startsAsync));
+
+        MockHttpServletResponse whileInFlight = filterRequest(filter, "2");
+        ((MockAsyncContext) asyncRequest.getAsyncContext()).complete();
+        MockHttpServletResponse afterCompletion = filterRequest(filter, "2");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), whileInFlight.getStatus());
+        assertEquals(HttpStatus.OK.value(), afterCompletion.getStatus());
+    }
+
+    @Test
+    public void doFilter_whenActuatorRequest_skipLimits() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(
+                new TokenBucketRateLimiter(1, 1, 100, Duration.ofMinutes(1)), 1, objectMapper);
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), response, new MockFilterChain());
+            assertEquals(HttpStatus.OK.value(), response.getStatus());
+        }
+    }
+
+    private MockHttpServletResponse filterRequest(RateLimitFilter filter, String userId) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(userId), response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletRequest request(String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+        request.addHeader("X-Sharer-User-Id", userId);
+        return request;
+    }
+}
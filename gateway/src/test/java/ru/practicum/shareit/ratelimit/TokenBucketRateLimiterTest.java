@@ -0,0 +1,96 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenBucketRateLimiterTest {
+    private final AtomicLong nanoClock = new AtomicLong(1_000_000_000L);
+
+    private TokenBucketRateLimiter limiter(double permitsPerSecond, int burst) {
+        return new TokenBucketRateLimiter(permitsPerSecond, burst, 1000, Duration.ofMinutes(1), nanoClock::get);
+    }
+
+    @Test
+    public void tryAcquire_whenBurstExhausted_rejectWithWaitUntilNextPermit() {
+        TokenBucketRateLimiter limiter = limiter(10, 3);
+
+        assertEquals(0, limiter.tryAcquire("1"));
+        assertEquals(0, limiter.tryAcquire("1"));
+        assertEquals(0, limiter.tryAcquire("1"));
+        long waitNanos = limiter.tryAcquire("1");
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), waitNanos);
+    }
+
+    @Test
+    public void tryAcquire_afterRefillInterval_allowAgain() {
+        TokenBucketRateLimiter limiter = limiter(10, 1);
+        assertEquals(0, limiter.tryAcquire("1"));
+        assertTrue(limiter.tryAcquire("1") > 0);
+
+        nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertEquals(0, limiter.tryAcquire("1"));
+    }
+
+    @Test
+    public void tryAcquire_whenOtherUserExhausted_allowThisUser() {
+        TokenBucketRateLimiter limiter = limiter(1, 1);
+        assertEquals(0, limiter.tryAcquire("1"));
+        assertTrue(limiter.tryAcquire("1") > 0);
+
+        assertEquals(0, limiter.tryAcquire("2"));
+    }
+
+    @Test
+    public void tryAcquire_whenConcurrentCallersOnOneKey_grantExactlyBurst() throws Exception {
+        int burst = 1000;
+        TokenBucketRateLimiter limiter = limiter(1, burst);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> granted = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                granted.add(executor.submit(() -> {
+                    start.await();
+                    int permits = 0;
+                    for (int i = 0; i < burst; i++) {
+                        if (limiter.tryAcquire("1") == 0) {
+                            permits++;
+                        }
+                    }
+                    return permits;
+                }));
+            }
+            start.countDown();
+
+            int total = 0;
+            for (Future<Integer> permits : granted) {
+                total += permits.get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(burst, total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void create_whenRateNotPositive_throwIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> limiter(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> limiter(1, 0));
+    }
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Owners with items, bookers with item requests and a few short bookings, created through the gateway
+ * before the measured run. Emails carry a run id, so repeated runs against the same database do not clash.
+ */
+@Slf4j
+public class Dataset {
+    static final String[] WORDS = {"дрель", "отвертка", "пила", "лестница", "палатка", "велосипед", "самокат",
+        "проектор"};
+    static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final long[] ownerIds;
+    private final long[] bookerIds;
+    private final long[] itemIds;
+    private final long[] itemOwnerIds;
+    private final long[] requestIds;
+
+    private Dataset(long[] ownerIds, long[] bookerIds, long[] itemIds, long[] itemOwnerIds, long[] requestIds) {
+        this.ownerIds = ownerIds;
+        this.bookerIds = bookerIds;
+        this.itemIds = itemIds;
+        this.itemOwnerIds = itemOwnerIds;
+        this.requestIds = requestIds;
+    }
+
+    public static Dataset create(ShareitApi api, LoadTestConfig config) {
+        LatencyRecorder recorder = new LatencyRecorder();
+        SplittableRandom random = new SplittableRandom(config.getSeed());
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        long[] ownerIds = new long[config.getOwners()];
+        for (int i = 0; i < ownerIds.length; i++) {
+            ownerIds[i] = createUser(api, recorder, "owner" + i + "-" + runId);
+        }
+        long[] bookerIds = new long[config.getBookers()];
+        for (int i = 0; i < bookerIds.length; i++) {
+            bookerIds[i] = createUser(api, recorder, "booker" + i + "-" + runId);
+        }
+
+        long[] requestIds = new long[bookerIds.length * config.getRequestsPerBooker()];
+        for (int i = 0; i < requestIds.length; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            requestIds[i] = id(api.call(recorder, "POST /requests", "POST", "/requests",
+                    bookerIds[i % bookerIds.length], Map.of("description", "Нужна " + word + " на выходные")),
+                    "request");
+        }
+
+        int itemCount = ownerIds.length * config.getItemsPerOwner();
+        long[] itemIds = new long[itemCount];
+        long[] itemOwnerIds = new long[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            Map<String, Object> item = new HashMap<>();
+            item.put("name", word + " " + i);
+            item.put("description", "Хорошая " + word + ", почти новая");
+            item.put("available", true);
+            // every fourth item answers a request, so request browsing returns items too
+            if (i % 4 == 0 && requestIds.length > 0) {
+                item.put("requestId", requestIds[random.nextInt(requestIds.length)]);
+            }
+            itemOwnerIds[i] = ownerIds[i % ownerIds.length];
+            itemIds[i] = id(api.call(recorder, "POST /items", "POST", "/items", itemOwnerIds[i], item), "item");
+        }
+
+        // short bookings that turn CURRENT and then PAST while the warmup runs
+        LocalDateTime soon = LocalDateTime.now().plusSeconds(2).truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < bookerIds.length && itemCount > 0; i++) {
+            int item = random.nextInt(itemCount);
+            api.call(recorder, "POST /bookings", "POST", "/bookings", bookerIds[i],
+                    booking(itemIds[item], soon, soon.plusSeconds(3)));
+            api.call(recorder, "POST /bookings", "POST", "/bookings", bookerIds[i],
+                    booking(itemIds[(item + 1) % itemCount], soon, soon.plusDays(1)));
+        }
+
+        log.info("Подготовлены данные: {} владельцев, {} арендаторов, {} вещей, {} запросов",
+                ownerIds.length, bookerIds.length, itemCount, requestIds.length);
+        return new Dataset(ownerIds, bookerIds, itemIds, itemOwnerIds, requestIds);
+    }
+
+    static Map<String, Object> booking(long itemId, LocalDateTime start, LocalDateTime end) {
+        return Map.of("itemId", itemId, "start", DATE_TIME.format(start), "end", DATE_TIME.format(end));
+    }
+
+    public long randomOwner(SplittableRandom random) {
+        return ownerIds[random.nextInt(ownerIds.length)];
+    }
+
+    public long randomBooker(SplittableRandom random) {
+        return bookerIds[random.nextInt(bookerIds.length)];
+    }
+
+    public int randomItem(SplittableRandom random) {
+        return random.nextInt(itemIds.length);
+    }
+
+    public long itemId(int item) {
+        return itemIds[item];
+    }
+
+    public long itemOwnerId(int item) {
+        return itemOwnerIds[item];
+    }
+
+    public long randomRequest(SplittableRandom random) {
+        return requestIds[random.nextInt(requestIds.length)];
+    }
+
+    public boolean hasRequests() {
+        return requestIds.length > 0;
+    }
+
+    private static long createUser(ShareitApi api, LatencyRecorder recorder, String name) {
+        return id(api.call(recorder, "POST /users", "POST", "/users",
+                null, Map.of("name", name, "email", name + "@load.test")), "user");
+    }
+
+    private static long id(JsonNode created, String entity) {
+        if (created == null || !created.hasNonNull("id")) {
+            throw new IllegalStateException("Не удалось создать " + entity + " для нагрузочного теста");
+        }
+        return created.get("id").asLong();
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latencies of one load worker per endpoint. Not thread-safe: every worker owns its recorder and
+ * the recorders are merged into a {@link LoadReport} after the run.
+ */
+public class LatencyRecorder {
+    private final Map<String, Samples> samplesByEndpoint = new LinkedHashMap<>();
+
+    public void record(String endpoint, long latencyNanos, boolean success) {
+        Samples samples = samplesByEndpoint.computeIfAbsent(endpoint, e -> new Samples());
+        samples.add(latencyNanos);
+        if (!success) {
+            samples.errors++;
+        }
+    }
+
+    Map<String, Samples> samples() {
+        return samplesByEndpoint;
+    }
+
+    static class Samples {
+        private long[] latencies = new long[1024];
+        private int size;
+        private int errors;
+
+        void add(long latencyNanos) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+        }
+
+        void addAll(Samples other) {
+            if (size + other.size > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, size + other.size));
+            }
+            System.arraycopy(other.latencies, 0, latencies, size, other.size);
+            size += other.size;
+            errors += other.errors;
+        }
+
+        long[] sorted() {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int errors() {
+            return errors;
+        }
+    }
+}
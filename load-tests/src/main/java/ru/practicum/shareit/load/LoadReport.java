@@ -0,0 +1,100 @@
+package ru.practicum.shareit.load;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Throughput and p50/p99 latency per endpoint for one measured run.
+ */
+@Slf4j
+public class LoadReport {
+    private final List<Row> rows;
+    private final Duration elapsed;
+
+    private LoadReport(List<Row> rows, Duration elapsed) {
+        this.rows = rows;
+        this.elapsed = elapsed;
+    }
+
+    public static LoadReport of(List<LatencyRecorder> recorders, Duration elapsed) {
+        Map<String, LatencyRecorder.Samples> merged = new TreeMap<>();
+        for (LatencyRecorder recorder : recorders) {
+            recorder.samples().forEach((endpoint, samples) ->
+                    merged.computeIfAbsent(endpoint, e -> new LatencyRecorder.Samples()).addAll(samples));
+        }
+
+        double seconds = elapsed.toNanos() / 1e9;
+        List<Row> rows = new ArrayList<>(merged.size());
+        merged.forEach((endpoint, samples) -> {
+            long[] sorted = samples.sorted();
+            rows.add(new Row(endpoint, sorted.length, samples.errors(), sorted.length / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), sorted[sorted.length - 1]));
+        });
+        return new LoadReport(rows, elapsed);
+    }
+
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    public void log() {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%n%-45s %9s %7s %10s %10s %10s %10s",
+                "endpoint", "requests", "errors", "req/s", "p50, ms", "p99, ms", "max, ms"));
+        for (Row row : rows) {
+            table.append(String.format(Locale.ROOT, "%n%-45s %9d %7d %10.1f %10.2f %10.2f %10.2f",
+                    row.getEndpoint(), row.getRequests(), row.getErrors(), row.getThroughput(),
+                    millis(row.getP50Nanos()), millis(row.getP99Nanos()), millis(row.getMaxNanos())));
+        }
+        log.info("Результаты нагрузочного теста за {}:{}", elapsed, table);
+    }
+
+    public void writeCsv(Path file) throws IOException {
+        List<String> lines = new ArrayList<>(rows.size() + 1);
+        lines.add("endpoint,requests,errors,throughput_rps,p50_ms,p99_ms,max_ms");
+        for (Row row : rows) {
+            lines.add(String.format(Locale.ROOT, "\"%s\",%d,%d,%.2f,%.3f,%.3f,%.3f",
+                    row.getEndpoint(), row.getRequests(), row.getErrors(), row.getThroughput(),
+                    millis(row.getP50Nanos()), millis(row.getP99Nanos()), millis(row.getMaxNanos())));
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        log.info("Отчет нагрузочного теста записан в {}", file.toAbsolutePath());
+    }
+
+    /**
+     * Nearest-rank percentile of sorted latencies.
+     */
+    static long percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    @Value
+    public static class Row {
+        String endpoint;
+        int requests;
+        int errors;
+        double throughput;
+        long p50Nanos;
+        long p99Nanos;
+        long maxNanos;
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Drives sustained load through the gateway: prepares a dataset, runs the request mix for the warmup period,
+ * then measures it for the configured duration and reports throughput and p50/p99 latency per endpoint.
+ */
+@Slf4j
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        log.info("Нагрузочный тест: {}", config);
+
+        ShareitApi api = new ShareitApi(config.getBaseUrl(), new ObjectMapper());
+        Dataset dataset = Dataset.create(api, config);
+        Scenarios scenarios = new Scenarios(api, dataset, config.getBurstSize());
+
+        run(scenarios, config, config.getWarmup(), config.getSeed());
+        long startNanos = System.nanoTime();
+        List<LatencyRecorder> recorders = run(scenarios, config, config.getDuration(), config.getSeed() + 1);
+        LoadReport report = LoadReport.of(recorders, Duration.ofNanos(System.nanoTime() - startNanos));
+
+        report.log();
+        report.writeCsv(config.getReport());
+    }
+
+    static List<LatencyRecorder> run(Scenarios scenarios, LoadTestConfig config, Duration duration, long seed)
+            throws Exception {
+        long deadlineNanos = System.nanoTime() + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(config.getConcurrency());
+        try {
+            List<Future<LatencyRecorder>> results = new ArrayList<>(config.getConcurrency());
+            for (int worker = 0; worker < config.getConcurrency(); worker++) {
+                SplittableRandom random = new SplittableRandom(seed * 31 + worker);
+                results.add(workers.submit(() -> {
+                    LatencyRecorder recorder = new LatencyRecorder();
+                    while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+                        scenarios.runNext(recorder, random);
+                    }
+                    return recorder;
+                }));
+            }
+
+            List<LatencyRecorder> recorders = new ArrayList<>(results.size());
+            for (Future<LatencyRecorder> result : results) {
+                recorders.add(result.get());
+            }
+            return recorders;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.load;
+
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test settings, read from -Dload.* system properties.
+ */
+@Value
+@Builder
+public class LoadTestConfig {
+    URI baseUrl;
+    int owners;
+    int bookers;
+    int itemsPerOwner;
+    int requestsPerBooker;
+    int concurrency;
+    int burstSize;
+    Duration warmup;
+    Duration duration;
+    long seed;
+    Path report;
+
+    public static LoadTestConfig fromSystemProperties() {
+        return LoadTestConfig.builder()
+                .baseUrl(URI.create(property("base-url", "http://localhost:8080")))
+                .owners(Integer.parseInt(property("owners", "20")))
+                .bookers(Integer.parseInt(property("bookers", "50")))
+                .itemsPerOwner(Integer.parseInt(property("items-per-owner", "20")))
+                .requestsPerBooker(Integer.parseInt(property("requests-per-booker", "2")))
+                .concurrency(Integer.parseInt(property("concurrency", "32")))
+                .burstSize(Integer.parseInt(property("burst-size", "10")))
+                .warmup(DurationStyle.detectAndParse(property("warmup", "10s")))
+                .duration(DurationStyle.detectAndParse(property("duration", "60s")))
+                .seed(Long.parseLong(property("seed", "42")))
+                .report(Path.of(property("report", "target/load-report.csv")))
+                .build();
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("load." + name, defaultValue);
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The request mix replayed by every load worker, modelled on the Postman scenarios.
+ */
+public class Scenarios {
+    static final String[] BOOKING_STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+    private static final int PAGE_SIZE = 20;
+
+    enum Scenario {
+        BOOKING_BURST(10),
+        OWNER_BOOKINGS(40),
+        SEARCH(30),
+        REQUEST_BROWSING(20);
+
+        private static final int TOTAL_WEIGHT = Arrays.stream(values()).mapToInt(s -> s.weight).sum();
+
+        private final int weight;
+
+        Scenario(int weight) {
+            this.weight = weight;
+        }
+
+        static Scenario pick(SplittableRandom random) {
+            int point = random.nextInt(TOTAL_WEIGHT);
+            for (Scenario scenario : values()) {
+                point -= scenario.weight;
+                if (point < 0) {
+                    return scenario;
+                }
+            }
+            throw new IllegalStateException("Сценарий не выбран");
+        }
+    }
+
+    private final ShareitApi api;
+    private final Dataset dataset;
+    private final int burstSize;
+    private final LocalDateTime bookingsFrom = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    // every created booking gets its own hour, so bursts never collide on an item's calendar
+    private final AtomicLong bookingSlots = new AtomicLong();
+
+    public Scenarios(ShareitApi api, Dataset dataset, int burstSize) {
+        this.api = api;
+        this.dataset = dataset;
+        this.burstSize = burstSize;
+    }
+
+    public void runNext(LatencyRecorder recorder, SplittableRandom random) {
+        switch (Scenario.pick(random)) {
+            case BOOKING_BURST:
+                bookingBurst(recorder, random);
+                break;
+            case OWNER_BOOKINGS:
+                ownerBookings(recorder, random);
+                break;
+            case SEARCH:
+                search(recorder, random);
+                break;
+            case REQUEST_BROWSING:
+                requestBrowsing(recorder, random);
+                break;
+            default:
+                throw new IllegalStateException("Неизвестный сценарий");
+        }
+    }
+
+    /**
+     * One booker books several items back to back; owners approve a third and reject a third of them.
+     */
+    void bookingBurst(LatencyRecorder recorder, SplittableRandom random) {
+        long bookerId = dataset.randomBooker(random);
+        for (int i = 0; i < burstSize; i++) {
+            int item = dataset.randomItem(random);
+            LocalDateTime start = bookingsFrom.plusHours(bookingSlots.getAndIncrement());
+            JsonNode booking = api.call(recorder, "POST /bookings", "POST", "/bookings", bookerId,
+                    Dataset.booking(dataset.itemId(item), start, start.plusMinutes(30)));
+            int decision = random.nextInt(3);
+            if (booking != null && booking.hasNonNull("id") && decision > 0) {
+                api.call(recorder, "PATCH /bookings/{id}", "PATCH",
+                        "/bookings/" + booking.get("id").asLong() + "?approved=" + (decision == 1),
+                        dataset.itemOwnerId(item), null);
+            }
+        }
+    }
+
+    void ownerBookings(LatencyRecorder recorder, SplittableRandom random) {
+        String state = BOOKING_STATES[random.nextInt(BOOKING_STATES.length)];
+        api.call(recorder, "GET /bookings/owner?state=" + state, "GET",
+                "/bookings/owner?state=" + state + "&from=0&size=" + PAGE_SIZE, dataset.randomOwner(random), null);
+    }
+
+    void search(LatencyRecorder recorder, SplittableRandom random) {
+        String text = URLEncoder.encode(Dataset.WORDS[random.nextInt(Dataset.WORDS.length)], StandardCharsets.UTF_8);
+        api.call(recorder, "GET /items/search", "GET", "/items/search?text=" + text + "&from=0&size=" + PAGE_SIZE,
+                dataset.randomBooker(random), null);
+    }
+
+    void requestBrowsing(LatencyRecorder recorder, SplittableRandom random) {
+        long bookerId = dataset.randomBooker(random);
+        api.call(recorder, "GET /requests", "GET", "/requests", bookerId, null);
+        api.call(recorder, "GET /requests/all", "GET", "/requests/all?from=0&size=" + PAGE_SIZE, bookerId, null);
+        if (dataset.hasRequests()) {
+            api.call(recorder, "GET /requests/{id}", "GET", "/requests/" + dataset.randomRequest(random),
+                    bookerId, null);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Calls to the gateway with the latency of each call recorded under its endpoint name
+ * (a path template such as "GET /requests/{id}", not the concrete URL).
+ */
+@Slf4j
+public class ShareitApi {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+
+    public ShareitApi(URI baseUrl, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Returns the parsed response body, or null when the call failed or the gateway answered with a non-2xx status.
+     */
+    @Nullable
+    public JsonNode call(LatencyRecorder recorder, String endpoint, String method, String pathAndQuery,
+                         @Nullable Long userId, @Nullable Object body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUrl.resolve(pathAndQuery))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (userId != null) {
+            request.header("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        try {
+            if (body != null) {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Не удалось сериализовать тело запроса " + endpoint, e);
+        }
+
+        long startNanos = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - startNanos, false);
+            log.debug("{} {} завершился ошибкой: {}", method, pathAndQuery, e.toString());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recorder.record(endpoint, System.nanoTime() - startNanos, false);
+            return null;
+        }
+        long latencyNanos = System.nanoTime() - startNanos;
+
+        boolean success = response.statusCode() / 100 == 2;
+        recorder.record(endpoint, latencyNanos, success);
+        if (!success) {
+            log.debug("{} {} --> {}", method, pathAndQuery, response.statusCode());
+            return null;
+        }
+        try {
+            return response.body().length == 0 ? objectMapper.nullNode() : objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            log.debug("{} {} вернул не JSON: {}", method, pathAndQuery, e.toString());
+            return null;
+        }
+    }
+}
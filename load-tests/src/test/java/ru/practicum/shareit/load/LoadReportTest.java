@@ -0,0 +1,41 @@
+package ru.practicum.shareit.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LoadReportTest {
+
+    @Test
+    public void of_whenSeveralWorkers_mergeSamplesPerEndpoint() {
+        LatencyRecorder first = new LatencyRecorder();
+        LatencyRecorder second = new LatencyRecorder();
+        for (long latency = 1; latency <= 50; latency++) {
+            first.record("GET /items/search", latency, true);
+            second.record("GET /items/search", latency + 50, latency != 50);
+        }
+        second.record("GET /requests", 7, true);
+
+        LoadReport report = LoadReport.of(List.of(first, second), Duration.ofSeconds(2));
+
+        assertEquals(2, report.getRows().size());
+        LoadReport.Row search = report.getRows().get(0);
+        assertEquals("GET /items/search", search.getEndpoint());
+        assertEquals(100, search.getRequests());
+        assertEquals(1, search.getErrors());
+        assertEquals(50.0, search.getThroughput());
+        assertEquals(50, search.getP50Nanos());
+        assertEquals(99, search.getP99Nanos());
+        assertEquals(100, search.getMaxNanos());
+        assertEquals("GET /requests", report.getRows().get(1).getEndpoint());
+    }
+
+    @Test
+    public void percentile_whenSingleSample_returnIt() {
+        assertEquals(7, LoadReport.percentile(new long[]{7}, 0.5));
+        assertEquals(7, LoadReport.percentile(new long[]{7}, 0.99));
+    }
+}
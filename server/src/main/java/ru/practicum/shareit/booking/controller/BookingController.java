@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.List;
@@ -24,6 +26,8 @@ import java.util.List;
 @Validated
 @Slf4j
 public class BookingController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
 
     @PostMapping()
@@ -77,4 +81,39 @@ public class BookingController {
         return bookingService.getListByBooker(userId, state, from, size);
     }
 
+    @GetMapping(value = "owner", params = "cursor")
+    public ResponseEntity<List<BookingResponseDto>> getListByOwnerAfterCursor(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(value = "state", defaultValue = "ALL") String state,
+            @RequestParam(name = "cursor") String cursor,
+            @RequestParam(name = "size", defaultValue = "10") Integer size
+    ) {
+        log.info("GET-запрос: список Bookings для userId владельца: id --> {}, статус Booking --> {}, " +
+                        "cursor --> {}, size --> {} ",
+                userId, state, cursor, size);
+        return withNextCursor(bookingService.getListByOwnerAfterCursor(userId, state, cursor, size), size);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<List<BookingResponseDto>> getListByBookerAfterCursor(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(value = "state", defaultValue = "ALL") String state,
+            @RequestParam(name = "cursor") String cursor,
+            @RequestParam(name = "size", defaultValue = "10") Integer size
+    ) {
+        log.info("GET-запрос: получить список Bookings для userId --> {}, статус брони --> {}, " +
+                        "cursor --> {}, size --> {}",
+                userId, state, cursor, size);
+        return withNextCursor(bookingService.getListByBookerAfterCursor(userId, state, cursor, size), size);
+    }
+
+    private ResponseEntity<List<BookingResponseDto>> withNextCursor(List<BookingResponseDto> bookings, Integer size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (bookings.size() == size) {
+            BookingResponseDto last = bookings.get(bookings.size() - 1);
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.encode(last.getStart(), last.getId()));
+        }
+        return response.body(bookings);
+    }
+
 }
\ No newline at end of file
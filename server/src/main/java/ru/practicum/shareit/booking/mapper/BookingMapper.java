@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking.mapper;
 import ru.practicum.shareit.booking.dto.BookingItemResponseDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.ItemBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.user.model.User;
@@ -32,6 +33,13 @@ public class BookingMapper {
                 .build();
     }
 
+    public static BookingItemResponseDto toBookingItemResponseDto(ItemBookingDto itemBookingDto) {
+        return BookingItemResponseDto.builder()
+                .id(itemBookingDto.getId())
+                .bookerId(itemBookingDto.getBookerId())
+                .build();
+    }
+
     public static Booking toBooking(BookingRequestDto bookingRequestDto,
                                     User user, Item item, BookingStatus status) {
         return Booking.builder()
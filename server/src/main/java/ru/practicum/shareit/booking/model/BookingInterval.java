@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * The period [start, end) a booking takes its item for.
+ */
+@Value
+public class BookingInterval {
+    Long bookingId;
+    LocalDateTime start;
+    LocalDateTime end;
+    BookingStatus status;
+
+    public static BookingInterval of(Booking booking) {
+        return new BookingInterval(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus());
+    }
+}
@@ -0,0 +1,166 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bookings of one item as an interval tree: an AVL tree ordered by start and id, where every node also
+ * keeps the latest end in its subtree, so a window query skips every subtree that ends before the window.
+ * Thread-safe.
+ */
+public class BookingIntervalTree {
+    private static final Comparator<BookingInterval> ORDER = Comparator.comparing(BookingInterval::getStart)
+            .thenComparing(BookingInterval::getBookingId);
+
+    private final Map<Long, BookingInterval> intervalsById = new HashMap<>();
+    private Node root;
+
+    /**
+     * Adds the booking's interval, replacing the one stored for the same booking.
+     */
+    public synchronized void put(BookingInterval interval) {
+        BookingInterval previous = intervalsById.put(interval.getBookingId(), interval);
+        if (previous != null) {
+            root = remove(root, previous);
+        }
+        root = insert(root, interval);
+    }
+
+    public synchronized void remove(Long bookingId) {
+        BookingInterval previous = intervalsById.remove(bookingId);
+        if (previous != null) {
+            root = remove(root, previous);
+        }
+    }
+
+    public synchronized int size() {
+        return intervalsById.size();
+    }
+
+    /**
+     * Intervals overlapping [from, to), ordered by start.
+     */
+    public synchronized List<BookingInterval> overlapping(LocalDateTime from, LocalDateTime to) {
+        List<BookingInterval> result = new ArrayList<>();
+        collect(root, from, to, result);
+        return result;
+    }
+
+    private static void collect(Node node, LocalDateTime from, LocalDateTime to, List<BookingInterval> result) {
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return;
+        }
+        collect(node.left, from, to, result);
+        if (!node.interval.getStart().isBefore(to)) {
+            return;
+        }
+        if (node.interval.getEnd().isAfter(from)) {
+            result.add(node.interval);
+        }
+        collect(node.right, from, to, result);
+    }
+
+    private static Node insert(Node node, BookingInterval interval) {
+        if (node == null) {
+            return new Node(interval);
+        }
+        if (ORDER.compare(interval, node.interval) < 0) {
+            node.left = insert(node.left, interval);
+        } else {
+            node.right = insert(node.right, interval);
+        }
+        return balance(node);
+    }
+
+    private static Node remove(Node node, BookingInterval interval) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = ORDER.compare(interval, node.interval);
+        if (comparison < 0) {
+            node.left = remove(node.left, interval);
+        } else if (comparison > 0) {
+            node.right = remove(node.right, interval);
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        } else {
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.interval = successor.interval;
+            node.right = remove(node.right, successor.interval);
+        }
+        return balance(node);
+    }
+
+    private static Node balance(Node node) {
+        node.update();
+        int skew = height(node.left) - height(node.right);
+        if (skew > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (skew < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        node.update();
+        left.right = node;
+        left.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        node.update();
+        right.left = node;
+        right.update();
+        return right;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node {
+        private BookingInterval interval;
+        private Node left;
+        private Node right;
+        private int height;
+        private LocalDateTime maxEnd;
+
+        private Node(BookingInterval interval) {
+            this.interval = interval;
+            update();
+        }
+
+        private void update() {
+            height = 1 + Math.max(height(left), height(right));
+            maxEnd = interval.getEnd();
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+}
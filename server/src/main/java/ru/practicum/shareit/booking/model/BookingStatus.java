@@ -1,8 +1,15 @@
 package ru.practicum.shareit.booking.model;
 
+import java.util.List;
+
 public enum BookingStatus {
     WAITING,
     APPROVED,
     REJECTED,
-    CANCELED
+    CANCELED;
+
+    /**
+     * Statuses of bookings that take the item for their period: no other booking may overlap them.
+     */
+    public static final List<BookingStatus> OCCUPYING = List.of(WAITING, APPROVED);
 }
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.ItemBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
@@ -12,37 +15,53 @@ import java.util.Optional;
 
 @Repository
 public interface BookingJpaRepository extends JpaRepository<Booking, Long> {
+    @Override
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Optional<Booking> findById(Long bookingId);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findAllByItem_Owner_Id(Long ownerId, Pageable page);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findAllByItem_Owner_IdAndEndIsBefore(
             Long ownerId, LocalDateTime dateTime, Pageable page);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findAllByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(
             Long ownerId, LocalDateTime dateTime1, LocalDateTime dateTime2, Pageable page);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findAllByItem_Owner_IdAndStartIsAfter(
             Long ownerId, LocalDateTime dateTime, Pageable page);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findAllByItem_Owner_IdAndStatusIn(
             Long ownerId, List<BookingStatus> notApprovedStatus, Pageable page);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findAllByItem_Owner_IdAndStatus(
             Long ownerId, BookingStatus waiting, Pageable page);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findAllByBookerId(Long bookerId, Pageable page);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findAllByBookerIdAndStartIsBeforeAndEndIsAfter(
             Long bookerId, LocalDateTime dateTime, LocalDateTime dateTime2, Pageable page);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findAllByBookerIdAndStartIsAfter(
             Long bookerId, LocalDateTime dateTime, Pageable page);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findAllByBookerIdAndEndIsBefore(
             Long bookerId, LocalDateTime dateTime, Pageable page);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findAllByBookerIdAndStatusIn(
             Long bookerId, List<BookingStatus> bookingStatuses, Pageable page);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findAllByBookerIdAndStatus(
             Long bookerId, BookingStatus bookingStatus, Pageable page);
 
@@ -52,6 +71,125 @@ public interface BookingJpaRepository extends JpaRepository<Booking, Long> {
     Optional<Booking> findFirstByItemIdAndStatusAndStartIsAfterOrStartEqualsOrderByStart(
             Long itemId, BookingStatus bookingStatus, LocalDateTime dateTime1, LocalDateTime dateTime2);
 
-    List<Booking> findAllByItem_IdAndBooker_IdAndStatusAndStartIsBefore(
+    List<Booking> findAllByItem_IdAndStatusIn(Long itemId, List<BookingStatus> bookingStatuses);
+
+    boolean existsByItem_IdAndStatusInAndStartIsBeforeAndEndIsAfter(
+            Long itemId, List<BookingStatus> bookingStatuses, LocalDateTime end, LocalDateTime start);
+
+    boolean existsByItem_IdAndBooker_IdAndStatusAndStartIsBefore(
             Long itemId, Long bookerId, BookingStatus bookingStatus, LocalDateTime dateTime);
-}
\ No newline at end of file
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.ItemBookingDto(b.item.id, b.id, b.booker.id) " +
+            "FROM Booking b " +
+            "WHERE b.item.id IN ?1 AND b.status = ?2 AND b.start <= ?3 " +
+            "AND b.end = (SELECT MAX(lb.end) FROM Booking lb " +
+            "WHERE lb.item.id = b.item.id AND lb.status = ?2 AND lb.start <= ?3) " +
+            "ORDER BY b.id")
+    List<ItemBookingDto> findLastBookingsByItemIds(
+            List<Long> itemIds, BookingStatus bookingStatus, LocalDateTime dateTime);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.ItemBookingDto(b.item.id, b.id, b.booker.id) " +
+            "FROM Booking b " +
+            "WHERE b.item.id IN ?1 AND b.status = ?2 AND b.start >= ?3 " +
+            "AND b.start = (SELECT MIN(nb.start) FROM Booking nb " +
+            "WHERE nb.item.id = b.item.id AND nb.status = ?2 AND nb.start >= ?3) " +
+            "ORDER BY b.id")
+    List<ItemBookingDto> findNextBookingsByItemIds(
+            List<Long> itemIds, BookingStatus bookingStatus, LocalDateTime dateTime);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.owner.id = ?1 AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findAllByOwnerIdAfterCursor(
+            Long ownerId, LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.owner.id = ?1 AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) " +
+            "AND b.start < ?4 AND b.end > ?4 " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findCurrentByOwnerIdAfterCursor(
+            Long ownerId, LocalDateTime cursorStart, Long cursorId, LocalDateTime dateTime, Pageable page);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.owner.id = ?1 AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) " +
+            "AND b.end < ?4 " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findPastByOwnerIdAfterCursor(
+            Long ownerId, LocalDateTime cursorStart, Long cursorId, LocalDateTime dateTime, Pageable page);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.owner.id = ?1 AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) " +
+            "AND b.start > ?4 " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findFutureByOwnerIdAfterCursor(
+            Long ownerId, LocalDateTime cursorStart, Long cursorId, LocalDateTime dateTime, Pageable page);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.owner.id = ?1 AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) " +
+            "AND b.status IN ?4 " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findAllByOwnerIdAndStatusInAfterCursor(
+            Long ownerId, LocalDateTime cursorStart, Long cursorId, List<BookingStatus> bookingStatuses,
+            Pageable page);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.owner.id = ?1 AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) " +
+            "AND b.status = ?4 " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findAllByOwnerIdAndStatusAfterCursor(
+            Long ownerId, LocalDateTime cursorStart, Long cursorId, BookingStatus bookingStatus, Pageable page);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = ?1 AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findAllByBookerIdAfterCursor(
+            Long bookerId, LocalDateTime cursorStart, Long cursorId, Pageable page);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = ?1 AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) " +
+            "AND b.start < ?4 AND b.end > ?4 " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findCurrentByBookerIdAfterCursor(
+            Long bookerId, LocalDateTime cursorStart, Long cursorId, LocalDateTime dateTime, Pageable page);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = ?1 AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) " +
+            "AND b.end < ?4 " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findPastByBookerIdAfterCursor(
+            Long bookerId, LocalDateTime cursorStart, Long cursorId, LocalDateTime dateTime, Pageable page);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = ?1 AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) " +
+            "AND b.start > ?4 " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findFutureByBookerIdAfterCursor(
+            Long bookerId, LocalDateTime cursorStart, Long cursorId, LocalDateTime dateTime, Pageable page);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = ?1 AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) " +
+            "AND b.status IN ?4 " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findAllByBookerIdAndStatusInAfterCursor(
+            Long bookerId, LocalDateTime cursorStart, Long cursorId, List<BookingStatus> bookingStatuses,
+            Pageable page);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = ?1 AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) " +
+            "AND b.status = ?4 " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findAllByBookerIdAndStatusAfterCursor(
+            Long bookerId, LocalDateTime cursorStart, Long cursorId, BookingStatus bookingStatus, Pageable page);
+}
@@ -16,4 +16,9 @@ public interface BookingService {
     List<BookingResponseDto> getListByOwner(Long ownerId, String bookingState, Integer from, Integer size);
 
     List<BookingResponseDto> getListByBooker(Long bookerId, String bookingState, Integer from, Integer size);
+
+    List<BookingResponseDto> getListByOwnerAfterCursor(Long ownerId, String bookingState, String cursor, Integer size);
+
+    List<BookingResponseDto> getListByBookerAfterCursor(Long bookerId, String bookingState, String cursor,
+                                                        Integer size);
 }
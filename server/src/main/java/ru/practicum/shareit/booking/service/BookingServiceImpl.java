@@ -2,24 +2,30 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingJpaRepository;
 import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.item.service.ItemAvailabilityCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.util.Validation;
 
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.util.exceptions.AccessIsNotAllowedException;
+import ru.practicum.shareit.util.exceptions.BookingConflictException;
 import ru.practicum.shareit.util.exceptions.ObjectNotFoundException;
 import ru.practicum.shareit.util.exceptions.UnavailableItemException;
 import ru.practicum.shareit.util.exceptions.UnsupportedStatusException;
@@ -32,23 +38,31 @@ import java.util.List;
 @Slf4j
 public class BookingServiceImpl implements BookingService {
 
+    private static final String BOOKING_PERIOD_CONSTRAINT = "excl_bookings_item_period";
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "start")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+
     private final BookingJpaRepository bookingJpaRepository;
     private final ItemJpaRepository itemJpaRepository;
     private final UserJpaRepository userJpaRepository;
+    private final UserExistenceCache userExistenceCache;
+    private final ItemAvailabilityCache itemAvailabilityCache;
 
     @Override
     @Transactional
     public BookingResponseDto create(Long userId, BookingRequestDto bookingRequestDto) {
 
         try {
-            Item item = getItemByIdIfExists(bookingRequestDto.getItemId());
+            Item item = lockItemIfExists(bookingRequestDto.getItemId());
             checkIsItemAvailable(item);
             User owner = getUserByIdIfExists(userId);
             checkAccessForOwnerNotAllowed(item, userId);
+            checkNoOverlappingBookings(item, bookingRequestDto);
 
             Booking booking = BookingMapper.toBooking(bookingRequestDto, owner, item,
                     BookingStatus.WAITING);
-            Booking savedBooking = bookingJpaRepository.save(booking);
+            Booking savedBooking = saveIfPeriodIsFree(booking);
+            itemAvailabilityCache.bookingSaved(savedBooking);
             log.info("Создан booking --> {}", savedBooking);
             return BookingMapper.toBookingResponseDto(savedBooking);
         } catch (RuntimeException ex) {
@@ -79,6 +93,7 @@ public class BookingServiceImpl implements BookingService {
         BookingStatus status = resolveStatus(isApprovedBookingStatus);
         Booking updated = booking.toBuilder().status(status).build();
         bookingJpaRepository.save(updated);
+        itemAvailabilityCache.bookingSaved(updated);
 
         BookingResponseDto bookingResponseDto = BookingMapper.toBookingResponseDto(updated);
 
@@ -92,35 +107,71 @@ public class BookingServiceImpl implements BookingService {
 
         checkIfUserExists(ownerId);
         BookingState validState = findBookingState(state);
-        LocalDateTime now = LocalDateTime.now();
-        List<Booking> listByOwner;
         int page = from / size;
 
         Pageable pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "start"));
+        List<Booking> listByOwner = getPageByOwner(ownerId, validState, LocalDateTime.now(), pageRequest);
+
+        return BookingMapper.toBookingResponseDtoList(listByOwner);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingResponseDto> getListByBooker(Long bookerId, String state, Integer from, Integer size) {
+        checkIfUserExists(bookerId);
+        BookingState validState = findBookingState(state);
+        int page = from / size;
+        Pageable pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "start"));
+        List<Booking> listByBooker = getPageByBooker(bookerId, validState, LocalDateTime.now(), pageRequest);
+
+        return BookingMapper.toBookingResponseDtoList(listByBooker);
+
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingResponseDto> getListByOwnerAfterCursor(Long ownerId, String state, String cursor,
+                                                              Integer size) {
+        checkIfUserExists(ownerId);
+        BookingState validState = findBookingState(state);
+        LocalDateTime now = LocalDateTime.now();
+
+        if (!Validation.stringIsNotNullOrBlank(cursor)) {
+            Pageable firstPage = PageRequest.of(0, size, KEYSET_SORT);
+            return BookingMapper.toBookingResponseDtoList(getPageByOwner(ownerId, validState, now, firstPage));
+        }
+
+        BookingCursor bookingCursor = BookingCursor.decode(cursor);
+        LocalDateTime cursorStart = bookingCursor.getStart();
+        Long cursorId = bookingCursor.getId();
+        Pageable pageRequest = PageRequest.of(0, size);
+        List<Booking> listByOwner;
 
         switch (validState) {
             case ALL:
-                listByOwner = bookingJpaRepository.findAllByItem_Owner_Id(ownerId, pageRequest);
+                listByOwner = bookingJpaRepository.findAllByOwnerIdAfterCursor(
+                        ownerId, cursorStart, cursorId, pageRequest);
                 break;
             case CURRENT:
-                listByOwner = bookingJpaRepository.findAllByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(
-                        ownerId, now, now, pageRequest);
+                listByOwner = bookingJpaRepository.findCurrentByOwnerIdAfterCursor(
+                        ownerId, cursorStart, cursorId, now, pageRequest);
                 break;
             case PAST:
-                listByOwner = bookingJpaRepository.findAllByItem_Owner_IdAndEndIsBefore(ownerId, now, pageRequest);
+                listByOwner = bookingJpaRepository.findPastByOwnerIdAfterCursor(
+                        ownerId, cursorStart, cursorId, now, pageRequest);
                 break;
             case FUTURE:
-                listByOwner = bookingJpaRepository.findAllByItem_Owner_IdAndStartIsAfter(
-                        ownerId, now, pageRequest);
+                listByOwner = bookingJpaRepository.findFutureByOwnerIdAfterCursor(
+                        ownerId, cursorStart, cursorId, now, pageRequest);
                 break;
             case REJECTED:
                 List<BookingStatus> notApprovedStatus = List.of(BookingStatus.REJECTED, BookingStatus.CANCELED);
-                listByOwner = bookingJpaRepository.findAllByItem_Owner_IdAndStatusIn(ownerId,
-                        notApprovedStatus, pageRequest);
+                listByOwner = bookingJpaRepository.findAllByOwnerIdAndStatusInAfterCursor(
+                        ownerId, cursorStart, cursorId, notApprovedStatus, pageRequest);
                 break;
             case WAITING:
-                listByOwner = bookingJpaRepository.findAllByItem_Owner_IdAndStatus(ownerId,
-                        BookingStatus.valueOf("WAITING"), pageRequest);
+                listByOwner = bookingJpaRepository.findAllByOwnerIdAndStatusAfterCursor(
+                        ownerId, cursorStart, cursorId, BookingStatus.WAITING, pageRequest);
                 break;
             default:
                 throw new UnsupportedStatusException("Unknown state: UNSUPPORTED_STATUS");
@@ -131,53 +182,116 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingResponseDto> getListByBooker(Long bookerId, String state, Integer from, Integer size) {
+    public List<BookingResponseDto> getListByBookerAfterCursor(Long bookerId, String state, String cursor,
+                                                               Integer size) {
         checkIfUserExists(bookerId);
         BookingState validState = findBookingState(state);
         LocalDateTime now = LocalDateTime.now();
+
+        if (!Validation.stringIsNotNullOrBlank(cursor)) {
+            Pageable firstPage = PageRequest.of(0, size, KEYSET_SORT);
+            return BookingMapper.toBookingResponseDtoList(getPageByBooker(bookerId, validState, now, firstPage));
+        }
+
+        BookingCursor bookingCursor = BookingCursor.decode(cursor);
+        LocalDateTime cursorStart = bookingCursor.getStart();
+        Long cursorId = bookingCursor.getId();
+        Pageable pageRequest = PageRequest.of(0, size);
         List<Booking> listByBooker;
-        int page = from / size;
-        Pageable pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "start"));
 
         switch (validState) {
             case ALL:
-                listByBooker = bookingJpaRepository.findAllByBookerId(bookerId, pageRequest);
+                listByBooker = bookingJpaRepository.findAllByBookerIdAfterCursor(
+                        bookerId, cursorStart, cursorId, pageRequest);
                 break;
             case CURRENT:
-                listByBooker = bookingJpaRepository
-                        .findAllByBookerIdAndStartIsBeforeAndEndIsAfter(bookerId, now, now, pageRequest);
+                listByBooker = bookingJpaRepository.findCurrentByBookerIdAfterCursor(
+                        bookerId, cursorStart, cursorId, now, pageRequest);
                 break;
             case PAST:
-                listByBooker = bookingJpaRepository.findAllByBookerIdAndEndIsBefore(
-                        bookerId, now, pageRequest);
+                listByBooker = bookingJpaRepository.findPastByBookerIdAfterCursor(
+                        bookerId, cursorStart, cursorId, now, pageRequest);
                 break;
             case FUTURE:
-                listByBooker = bookingJpaRepository.findAllByBookerIdAndStartIsAfter(
-                        bookerId, now, pageRequest);
+                listByBooker = bookingJpaRepository.findFutureByBookerIdAfterCursor(
+                        bookerId, cursorStart, cursorId, now, pageRequest);
                 break;
             case REJECTED:
                 List<BookingStatus> notApprovedStatus = List.of(BookingStatus.REJECTED, BookingStatus.CANCELED);
-                listByBooker = bookingJpaRepository
-                        .findAllByBookerIdAndStatusIn(bookerId, notApprovedStatus, pageRequest);
+                listByBooker = bookingJpaRepository.findAllByBookerIdAndStatusInAfterCursor(
+                        bookerId, cursorStart, cursorId, notApprovedStatus, pageRequest);
                 break;
             case WAITING:
-                listByBooker = bookingJpaRepository
-                        .findAllByBookerIdAndStatus(
-                                bookerId, BookingStatus.valueOf("WAITING"), pageRequest);
+                listByBooker = bookingJpaRepository.findAllByBookerIdAndStatusAfterCursor(
+                        bookerId, cursorStart, cursorId, BookingStatus.WAITING, pageRequest);
                 break;
             default:
                 throw new UnsupportedStatusException("Unknown state: UNSUPPORTED_STATUS");
         }
+
         return BookingMapper.toBookingResponseDtoList(listByBooker);
+    }
 
+    private List<Booking> getPageByOwner(Long ownerId, BookingState state, LocalDateTime now, Pageable pageRequest) {
+        switch (state) {
+            case ALL:
+                return bookingJpaRepository.findAllByItem_Owner_Id(ownerId, pageRequest);
+            case CURRENT:
+                return bookingJpaRepository.findAllByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(
+                        ownerId, now, now, pageRequest);
+            case PAST:
+                return bookingJpaRepository.findAllByItem_Owner_IdAndEndIsBefore(ownerId, now, pageRequest);
+            case FUTURE:
+                return bookingJpaRepository.findAllByItem_Owner_IdAndStartIsAfter(
+                        ownerId, now, pageRequest);
+            case REJECTED:
+                List<BookingStatus> notApprovedStatus = List.of(BookingStatus.REJECTED, BookingStatus.CANCELED);
+                return bookingJpaRepository.findAllByItem_Owner_IdAndStatusIn(ownerId,
+                        notApprovedStatus, pageRequest);
+            case WAITING:
+                return bookingJpaRepository.findAllByItem_Owner_IdAndStatus(ownerId,
+                        BookingStatus.valueOf("WAITING"), pageRequest);
+            default:
+                throw new UnsupportedStatusException("Unknown state: UNSUPPORTED_STATUS");
+        }
+    }
+
+    private List<Booking> getPageByBooker(Long bookerId, BookingState state, LocalDateTime now, Pageable pageRequest) {
+        switch (state) {
+            case ALL:
+                return bookingJpaRepository.findAllByBookerId(bookerId, pageRequest);
+            case CURRENT:
+                return bookingJpaRepository
+                        .findAllByBookerIdAndStartIsBeforeAndEndIsAfter(bookerId, now, now, pageRequest);
+            case PAST:
+                return bookingJpaRepository.findAllByBookerIdAndEndIsBefore(
+                        bookerId, now, pageRequest);
+            case FUTURE:
+                return bookingJpaRepository.findAllByBookerIdAndStartIsAfter(
+                        bookerId, now, pageRequest);
+            case REJECTED:
+                List<BookingStatus> notApprovedStatus = List.of(BookingStatus.REJECTED, BookingStatus.CANCELED);
+                return bookingJpaRepository
+                        .findAllByBookerIdAndStatusIn(bookerId, notApprovedStatus, pageRequest);
+            case WAITING:
+                return bookingJpaRepository
+                        .findAllByBookerIdAndStatus(
+                                bookerId, BookingStatus.valueOf("WAITING"), pageRequest);
+            default:
+                throw new UnsupportedStatusException("Unknown state: UNSUPPORTED_STATUS");
+        }
     }
 
     private BookingStatus resolveStatus(Boolean isApproved) {
         return isApproved.equals(true) ? BookingStatus.APPROVED : BookingStatus.REJECTED;
     }
 
-    private Item getItemByIdIfExists(Long itemId) {
-        return itemJpaRepository.findById(itemId)
+    /**
+     * The item row stays locked until the booking is committed, so a concurrent create for the same item
+     * waits here and then sees this booking in its overlap check.
+     */
+    private Item lockItemIfExists(Long itemId) {
+        return itemJpaRepository.findByIdForUpdate(itemId)
                 .orElseThrow(() ->
                         new ObjectNotFoundException(String.format("Не найден Item с itemId = %d", itemId)));
     }
@@ -197,7 +311,7 @@ public class BookingServiceImpl implements BookingService {
 
 
     private void checkIfUserExists(Long userId) {
-        if (!userJpaRepository.existsById(userId)) {
+        if (!userExistenceCache.exists(userId)) {
             throw new ObjectNotFoundException(String.format("Не найден User с userId: %d", userId));
         }
     }
@@ -247,6 +361,37 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    private void checkNoOverlappingBookings(Item item, BookingRequestDto bookingRequestDto) {
+        if (bookingJpaRepository.existsByItem_IdAndStatusInAndStartIsBeforeAndEndIsAfter(item.getId(),
+                BookingStatus.OCCUPYING, bookingRequestDto.getEnd(), bookingRequestDto.getStart())) {
+            throw new BookingConflictException(String.format(
+                    "Item с itemId = %d уже забронирован на период %s - %s",
+                    item.getId(), bookingRequestDto.getStart(), bookingRequestDto.getEnd()));
+        }
+    }
+
+    /**
+     * На PostgreSQL пересечение периодов дополнительно запрещено ограничением excl_bookings_item_period (V4):
+     * его нарушение означает тот же конфликт бронирования, что и в checkNoOverlappingBookings.
+     */
+    private Booking saveIfPeriodIsFree(Booking booking) {
+        try {
+            return bookingJpaRepository.save(booking);
+        } catch (DataIntegrityViolationException exception) {
+            if (!isBookingPeriodConstraintViolation(exception)) {
+                throw exception;
+            }
+            throw new BookingConflictException(String.format(
+                    "Item с itemId = %d уже забронирован на период %s - %s",
+                    booking.getItem().getId(), booking.getStart(), booking.getEnd()));
+        }
+    }
+
+    private boolean isBookingPeriodConstraintViolation(DataIntegrityViolationException exception) {
+        String message = exception.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains(BOOKING_PERIOD_CONSTRAINT);
+    }
+
     private void checkStatusIsWaiting(Booking booking) {
         if (!booking.getStatus().equals(BookingStatus.WAITING)) {
             throw new UnavailableItemException(String.format("Вы не можете изменить ранее подтвержденный статус %s",
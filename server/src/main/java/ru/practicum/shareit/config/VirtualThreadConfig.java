@@ -0,0 +1,64 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in mode (shareit.threads.virtual.enabled=true, JDK 21+) that runs Tomcat request handling on virtual threads.
+ * Virtual threads remove the Tomcat thread cap, so the real limit becomes the HikariCP pool: requests are admitted
+ * by {@link DataSourceAdmissionFilter} no faster than the pool can hand out connections, and the rest wait cheaply
+ * in a fair queue instead of timing out inside Hikari.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        log.info("Обработка запросов Tomcat переведена на виртуальные потоки");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    @Bean
+    public FilterRegistrationBean<DataSourceAdmissionFilter> dataSourceAdmissionFilter(
+            @Value("${shareit.threads.virtual.max-concurrent-requests:${spring.datasource.hikari.maximum-pool-size:10}}")
+            int maxConcurrentRequests,
+            @Value("${shareit.threads.virtual.admission-timeout:5s}") Duration admissionTimeout,
+            ObjectMapper objectMapper) {
+        log.info("Одновременно обрабатывается не более {} запросов, ожидание допуска --> {}",
+                maxConcurrentRequests, admissionTimeout);
+        FilterRegistrationBean<DataSourceAdmissionFilter> registration = new FilterRegistrationBean<>(
+                new DataSourceAdmissionFilter(maxConcurrentRequests, admissionTimeout, objectMapper));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Looked up reflectively so the module still compiles for Java 11; fails fast on an older runtime.
+     * The modules share no code, so shareit-gateway keeps an identical copy; change both together.
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Виртуальные потоки требуют JDK 21+, текущая версия --> "
+                    + Runtime.version(), e);
+        }
+    }
+}
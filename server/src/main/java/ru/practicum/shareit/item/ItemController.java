@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -14,10 +15,12 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -57,15 +60,25 @@ public class ItemController {
     }
 
     @GetMapping()
-    public List<ItemResponseDto> getListByUser(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("GET-request: получение списка items для userId --> {}", userId);
-        return itemService.getListByUser(userId);
+    public List<ItemResponseDto> getListByUser(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "afterId", required = false) Long afterId) {
+        log.info("GET-request: получение списка items для userId --> {}, from --> {}, size --> {}, afterId --> {}",
+                userId, from, size, afterId);
+        return itemService.getListByUser(userId, from, size, afterId);
     }
 
     @GetMapping("/search")
-    public List<ItemResponseDto> searchItemsBySubstring(@RequestParam("text") String text) {
-        log.info("GET-request: Поиск доступных к бронированию items по фразе --> {}", text);
-        return itemService.searchItemsBySubstring(text);
+    public List<ItemResponseDto> searchItemsBySubstring(
+            @RequestParam("text") String text,
+            @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "afterId", required = false) Long afterId) {
+        log.info("GET-request: Поиск доступных к бронированию items по фразе --> {}, from --> {}, size --> {}, " +
+                "afterId --> {}", text, from, size, afterId);
+        return itemService.searchItemsBySubstring(text, from, size, afterId);
     }
 
     @PostMapping("{itemId}/comment")
@@ -76,4 +89,15 @@ public class ItemController {
                 userId, itemId, commentRequestDto);
         return itemService.addComment(commentRequestDto, userId, itemId);
     }
+
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PathVariable Long itemId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("GET-request: Получить занятость itemId --> {} с {} по {} для userId --> {}",
+                itemId, from, to, userId);
+        return itemService.getAvailability(userId, itemId, from, to);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.item.mapper;
+
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ItemAvailabilityMapper {
+
+    /**
+     * Busy intervals are the bookings clipped to [from, to); free intervals are the gaps between them.
+     *
+     * @param occupied bookings overlapping [from, to), ordered by start
+     */
+    public static ItemAvailabilityDto toItemAvailabilityDto(Long itemId, LocalDateTime from, LocalDateTime to,
+                                                            List<BookingInterval> occupied) {
+        List<AvailabilityIntervalDto> busy = new ArrayList<>(occupied.size());
+        List<AvailabilityIntervalDto> free = new ArrayList<>(occupied.size() + 1);
+        LocalDateTime freeFrom = from;
+        for (BookingInterval interval : occupied) {
+            LocalDateTime start = max(interval.getStart(), from);
+            LocalDateTime end = min(interval.getEnd(), to);
+            busy.add(AvailabilityIntervalDto.builder().start(start).end(end).status(interval.getStatus()).build());
+            if (start.isAfter(freeFrom)) {
+                free.add(AvailabilityIntervalDto.builder().start(freeFrom).end(start).build());
+            }
+            freeFrom = max(freeFrom, end);
+        }
+        if (freeFrom.isBefore(to)) {
+            free.add(AvailabilityIntervalDto.builder().start(freeFrom).end(to).build());
+        }
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .busy(busy)
+                .free(free)
+                .build();
+    }
+
+    private static LocalDateTime max(LocalDateTime first, LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+
+    private static LocalDateTime min(LocalDateTime first, LocalDateTime second) {
+        return first.isBefore(second) ? first : second;
+    }
+}
@@ -54,6 +54,22 @@ public class ItemMapper {
                 .build();
     }
 
+    public static ItemResponseDto toItemResponseDto(ItemDto itemDto,
+                                                    BookingItemResponseDto lastBooking,
+                                                    BookingItemResponseDto nextBooking,
+                                                    List<CommentResponseDto> comments) {
+        return ItemResponseDto.builder()
+                .id(itemDto.getId())
+                .name(itemDto.getName())
+                .description(itemDto.getDescription())
+                .available(itemDto.getAvailable())
+                .lastBooking(lastBooking)
+                .nextBooking(nextBooking)
+                .requestId(itemDto.getRequestId())
+                .comments(comments)
+                .build();
+    }
+
     public static Item toItem(ItemDto itemDto, User user, @Nullable ItemRequest request) {
         return Item.builder()
                 .id(itemDto.getId())
@@ -1,15 +1,24 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.model.Comment;
-import ru.practicum.shareit.item.model.Item;
 
 import java.util.List;
 
 @Repository
 public interface CommentJpaRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItemId(Long itemId);
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentResponseDto(c.id, c.text, a.name, c.item.id, c.created) " +
+            "FROM Comment c JOIN c.author a " +
+            "WHERE c.item.id = ?1 " +
+            "ORDER BY c.id")
+    List<CommentResponseDto> findAllByItemId(Long itemId);
 
-    List<Comment> findAllByItemIn(List<Item> items);
-}
\ No newline at end of file
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentResponseDto(c.id, c.text, a.name, c.item.id, c.created) " +
+            "FROM Comment c JOIN c.author a " +
+            "WHERE c.item.id IN ?1 " +
+            "ORDER BY c.id")
+    List<CommentResponseDto> findAllByItemIdIn(List<Long> itemIds);
+}
@@ -1,24 +1,62 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.request.model.ItemRequest;
 
+import javax.persistence.LockModeType;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemJpaRepository extends JpaRepository<Item, Long> {
-    List<Item> findAllByOwnerIdOrderById(Long userId);
+    /**
+     * Loads the item holding a row lock until the transaction ends; booking creation takes it so overlap
+     * checks for the same item run one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long itemId);
 
-    @Query("SELECT i " +
-            "FROM Item i " +
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, r.id) " +
+            "FROM Item i LEFT JOIN i.request r " +
+            "WHERE i.owner.id = ?1 " +
+            "ORDER BY i.id")
+    List<ItemDto> findAllByOwnerIdOrderById(Long userId, Pageable page);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, r.id) " +
+            "FROM Item i LEFT JOIN i.request r " +
+            "WHERE i.owner.id = ?1 AND i.id > ?2 " +
+            "ORDER BY i.id")
+    List<ItemDto> findAllByOwnerIdAndIdIsGreaterThanOrderById(Long userId, Long afterId, Pageable page);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, r.id) " +
+            "FROM Item i LEFT JOIN i.request r " +
             "WHERE i.available = true AND (upper(i.name) LIKE UPPER(CONCAT('%', ?1, '%')) " +
-            "OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%')))")
-    List<Item> searchItemsBySubstring(String text);
+            "OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%'))) " +
+            "ORDER BY i.id")
+    List<ItemDto> searchItemsBySubstring(String text, Pageable page);
 
-    List<Item> findAllByRequestId(Long requestId);
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, r.id) " +
+            "FROM Item i LEFT JOIN i.request r " +
+            "WHERE i.available = true AND i.id > ?2 AND (upper(i.name) LIKE UPPER(CONCAT('%', ?1, '%')) " +
+            "OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%'))) " +
+            "ORDER BY i.id")
+    List<ItemDto> searchItemsBySubstringAfterId(String text, Long afterId, Pageable page);
 
-    List<Item> findAllByRequestIn(List<ItemRequest> itemRequests);
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, i.request.id) " +
+            "FROM Item i " +
+            "WHERE i.request.id = ?1 " +
+            "ORDER BY i.id")
+    List<ItemDto> findAllByRequestId(Long requestId);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, i.request.id) " +
+            "FROM Item i " +
+            "WHERE i.request.id IN ?1 " +
+            "ORDER BY i.id")
+    List<ItemDto> findAllByRequestIdIn(List<Long> requestIds);
 }
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.item.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingIntervalTree;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingJpaRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static ru.practicum.shareit.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Per-item {@link BookingIntervalTree} of WAITING and APPROVED bookings, loaded from the database on first
+ * use and then kept current by {@link #bookingSaved} after every booking commit, so an availability query
+ * reads memory only. Writes made by other server instances show up when the entry expires.
+ */
+@Component
+public class ItemAvailabilityCache {
+    private final BookingJpaRepository bookingJpaRepository;
+    private final Cache<Long, BookingIntervalTree> trees;
+
+    public ItemAvailabilityCache(BookingJpaRepository bookingJpaRepository,
+                                 @Value("${shareit.items.availability-cache.size:10000}") long maxSize,
+                                 @Value("${shareit.items.availability-cache.ttl:10m}") Duration ttl) {
+        this.bookingJpaRepository = bookingJpaRepository;
+        this.trees = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public List<BookingInterval> getOccupied(Long itemId, LocalDateTime from, LocalDateTime to) {
+        return trees.get(itemId, this::load).overlapping(from, to);
+    }
+
+    /**
+     * Applies a created or re-statused booking to a cached tree once the transaction commits. Uses
+     * compute rather than computeIfPresent so that it waits for a load of the same item still in flight,
+     * which may have read the table before this commit.
+     */
+    public void bookingSaved(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        BookingInterval interval = BookingInterval.of(booking);
+        afterCommit(() -> trees.asMap().compute(itemId, (id, tree) -> {
+            if (tree != null) {
+                if (BookingStatus.OCCUPYING.contains(interval.getStatus())) {
+                    tree.put(interval);
+                } else {
+                    tree.remove(interval.getBookingId());
+                }
+            }
+            return tree;
+        }));
+    }
+
+    public void evict(Long itemId) {
+        afterCommit(() -> trees.invalidate(itemId));
+    }
+
+    private BookingIntervalTree load(Long itemId) {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        bookingJpaRepository.findAllByItem_IdAndStatusIn(itemId, BookingStatus.OCCUPYING)
+                .forEach(booking -> tree.put(BookingInterval.of(booking)));
+        return tree;
+    }
+}
@@ -3,9 +3,11 @@ package ru.practicum.shareit.item.service;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Component
@@ -18,9 +20,11 @@ public interface ItemService {
 
     void deleteById(Long itemId);
 
-    List<ItemResponseDto> getListByUser(Long userId);
+    List<ItemResponseDto> getListByUser(Long userId, Integer from, Integer size, Long afterId);
 
-    List<ItemResponseDto> searchItemsBySubstring(String text);
+    List<ItemResponseDto> searchItemsBySubstring(String text, Integer from, Integer size, Long afterId);
 
     CommentResponseDto addComment(CommentRequestDto commentRequestDto, Long userId, Long itemId);
+
+    ItemAvailabilityDto getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to);
 }
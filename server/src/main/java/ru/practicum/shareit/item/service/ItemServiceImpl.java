@@ -2,21 +2,27 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingItemResponseDto;
+import ru.practicum.shareit.booking.dto.ItemBookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingJpaRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
+import ru.practicum.shareit.util.LogSummary;
 import ru.practicum.shareit.util.Validation;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemAvailabilityMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
@@ -25,6 +31,7 @@ import ru.practicum.shareit.item.repository.ItemJpaRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.util.exceptions.AccessIsNotAllowedException;
+import ru.practicum.shareit.util.exceptions.DateTimeException;
 import ru.practicum.shareit.util.exceptions.ObjectNotFoundException;
 import ru.practicum.shareit.util.exceptions.UnavailableItemException;
 
@@ -44,6 +51,8 @@ public class ItemServiceImpl implements ItemService {
     private final BookingJpaRepository bookingJpaRepository;
     private final CommentJpaRepository commentJpaRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final UserExistenceCache userExistenceCache;
+    private final ItemAvailabilityCache itemAvailabilityCache;
 
     @Override
     @Transactional
@@ -95,40 +104,41 @@ public class ItemServiceImpl implements ItemService {
         if (itemJpaRepository.existsById(itemId)) {
             log.info("Удалена item для itemId --> {}", itemId);
             itemJpaRepository.deleteById(itemId);
+            itemAvailabilityCache.evict(itemId);
         }
         log.info("Попытка удаления Item, но не найден itemId --> {}", itemId);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ItemResponseDto> getListByUser(Long userId) {
-
-//        List<Item> items = itemJpaRepository.findAllByOwnerId(userId);
-        List<Item> items = itemJpaRepository.findAllByOwnerIdOrderById(userId);
-        Map<Item, List<Comment>> mapComments = getCommentsToAllItems(items);
-        List<ItemResponseDto> itemsResponses = items.stream()
-                .map(item -> getItemResponseDto(item,
-                        mapComments.getOrDefault(item, Collections.emptyList()),
-                        LocalDateTime.now()))
-                .collect(Collectors.toUnmodifiableList());
+    public List<ItemResponseDto> getListByUser(Long userId, Integer from, Integer size, Long afterId) {
+
+        List<ItemDto> items;
+        if (afterId != null) {
+            items = itemJpaRepository.findAllByOwnerIdAndIdIsGreaterThanOrderById(userId, afterId,
+                    PageRequest.of(0, size));
+        } else {
+            items = itemJpaRepository.findAllByOwnerIdOrderById(userId, PageRequest.of(from / size, size));
+        }
+        List<ItemResponseDto> itemsResponses = getItemResponseDtoList(items);
         writeToLog(itemsResponses);
         return itemsResponses;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ItemResponseDto> searchItemsBySubstring(String text) {
+    public List<ItemResponseDto> searchItemsBySubstring(String text, Integer from, Integer size, Long afterId) {
         if (text == null || text.isBlank()) {
             return Collections.emptyList();
         }
 
-        List<Item> items = itemJpaRepository.searchItemsBySubstring(text);
-        Map<Item, List<Comment>> mapComments = getCommentsToAllItems(items);
-        List<ItemResponseDto> itemsResponses = items.stream()
-                .map(item -> getItemResponseDto(item,
-                        mapComments.getOrDefault(item, Collections.emptyList()),
-                        LocalDateTime.now()))
-                .collect(Collectors.toUnmodifiableList());
+        List<ItemDto> items;
+        if (afterId != null) {
+            items = itemJpaRepository.searchItemsBySubstringAfterId(text, afterId, PageRequest.of(0, size));
+        } else {
+            items = itemJpaRepository.searchItemsBySubstring(text, PageRequest.of(from / size, size));
+        }
+        List<ItemResponseDto> itemsResponses = getItemResponseDtoList(items);
 
         writeToLog(itemsResponses);
         return itemsResponses;
@@ -149,6 +159,22 @@ public class ItemServiceImpl implements ItemService {
         return CommentMapper.toCommentResponseDto(comment);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ItemAvailabilityDto getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        checkUserExists(userId);
+        getItemByIdIfExists(itemId);
+        if (!from.isBefore(to)) {
+            throw new DateTimeException(String.format("Начало периода %s должно быть раньше конца %s", from, to));
+        }
+
+        List<BookingInterval> occupied = itemAvailabilityCache.getOccupied(itemId, from, to);
+        ItemAvailabilityDto availability = ItemAvailabilityMapper.toItemAvailabilityDto(itemId, from, to, occupied);
+        log.info("Получить занятость itemId --> {} с {} по {} для userId --> {}: занято {}, свободно {}",
+                itemId, from, to, userId, availability.getBusy().size(), availability.getFree().size());
+        return availability;
+    }
+
     private Item updateValidFields(Item item, ItemDto itemDto) {
 
         String newName = itemDto.getName();
@@ -180,16 +206,15 @@ public class ItemServiceImpl implements ItemService {
     }
 
     private void checkUserExists(Long userId) {
-        if (!userJpaRepository.existsById(userId)) {
+        if (!userExistenceCache.exists(userId)) {
             throw new ObjectNotFoundException(String.format("Не найден user для userId: %d", userId));
         }
     }
 
     private void checkAccessToCommentAllowed(Long userId, Long itemId) {
         LocalDateTime now = LocalDateTime.now();
-        List<Booking> bookings = bookingJpaRepository
-                .findAllByItem_IdAndBooker_IdAndStatusAndStartIsBefore(itemId, userId, BookingStatus.APPROVED, now);
-        if (bookings.isEmpty()) {
+        if (!bookingJpaRepository
+                .existsByItem_IdAndBooker_IdAndStatusAndStartIsBefore(itemId, userId, BookingStatus.APPROVED, now)) {
             throw new UnavailableItemException("Нет доступа к comments");
         }
     }
@@ -213,21 +238,31 @@ public class ItemServiceImpl implements ItemService {
         return item.getOwner().getId().equals(userId);
     }
 
-    private ItemResponseDto getItemResponseDto(Item item, List<Comment> comments, LocalDateTime now) {
-
-        Long itemId = item.getId();
-        BookingItemResponseDto lastBooking = getLastBooking(itemId, now);
-        BookingItemResponseDto nextBooking = getNextBooking(itemId, now);
-        List<CommentResponseDto> commentsDto = CommentMapper.toCommentResponseDtoList(comments);
+    private List<ItemResponseDto> getItemResponseDtoList(List<ItemDto> items) {
 
-        return ItemMapper.toItemResponseDto(item, lastBooking, nextBooking, commentsDto);
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> itemIds = items.stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toUnmodifiableList());
+        Map<Long, List<CommentResponseDto>> mapComments = getCommentsToAllItems(itemIds);
+        Map<Long, BookingItemResponseDto> lastBookings = getLastBookings(itemIds, now);
+        Map<Long, BookingItemResponseDto> nextBookings = getNextBookings(itemIds, now);
+
+        return items.stream()
+                .map(item -> ItemMapper.toItemResponseDto(item,
+                        lastBookings.get(item.getId()),
+                        nextBookings.get(item.getId()),
+                        mapComments.getOrDefault(item.getId(), Collections.emptyList())))
+                .collect(Collectors.toUnmodifiableList());
     }
 
-    private Map<Item, List<Comment>> getCommentsToAllItems(List<Item> items) {
+    private Map<Long, List<CommentResponseDto>> getCommentsToAllItems(List<Long> itemIds) {
 
-        List<Comment> comments = commentJpaRepository.findAllByItemIn(items);
-        return comments.stream()
-                .collect(Collectors.groupingBy(Comment::getItem));
+        if (itemIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return commentJpaRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(CommentResponseDto::getItemId));
     }
 
     private BookingItemResponseDto getLastBooking(Long itemId, LocalDateTime now) {
@@ -247,16 +282,35 @@ public class ItemServiceImpl implements ItemService {
                 .orElse(null);
     }
 
+    private Map<Long, BookingItemResponseDto> getLastBookings(List<Long> itemIds, LocalDateTime now) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return toBookingsByItemId(bookingJpaRepository
+                .findLastBookingsByItemIds(itemIds, BookingStatus.APPROVED, now));
+    }
+
+    private Map<Long, BookingItemResponseDto> getNextBookings(List<Long> itemIds, LocalDateTime now) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return toBookingsByItemId(bookingJpaRepository
+                .findNextBookingsByItemIds(itemIds, BookingStatus.APPROVED, now));
+    }
+
+    private Map<Long, BookingItemResponseDto> toBookingsByItemId(List<ItemBookingDto> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(ItemBookingDto::getItemId,
+                        BookingMapper::toBookingItemResponseDto,
+                        (first, second) -> first));
+    }
+
     private void writeToLog(List<ItemResponseDto> items) {
-        String result = items.stream()
-                .map(ItemResponseDto::toString)
-                .collect(Collectors.joining(", "));
-        log.info("Items list --> {}", result);
+        log.info("Items list --> {}", LogSummary.of(items, ItemResponseDto::getId));
     }
 
     private List<CommentResponseDto> getCommentsByItemId(Long itemId) {
-        List<Comment> comments = commentJpaRepository.findAllByItemId(itemId);
-        return CommentMapper.toCommentResponseDtoList(comments);
+        return commentJpaRepository.findAllByItemId(itemId);
     }
 
     private ItemRequest getItemRequestIfExists(ItemDto itemDto) {
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.util.exceptions.AccessIsNotAllowedException;
+import ru.practicum.shareit.util.exceptions.BookingConflictException;
+import ru.practicum.shareit.util.exceptions.DateTimeException;
+import ru.practicum.shareit.util.exceptions.EmailAlreadyExistsException;
+import ru.practicum.shareit.util.exceptions.InvalidCursorException;
+import ru.practicum.shareit.util.exceptions.ObjectNotFoundException;
+import ru.practicum.shareit.util.exceptions.UnavailableItemException;
+import ru.practicum.shareit.util.exceptions.UnsupportedStatusException;
+
+import javax.persistence.EntityNotFoundException;
+
+/**
+ * Latency of every public service method (shareit.service.requests) tagged by service, method, BookingState
+ * branch and outcome, plus the SQL statements the call issued (shareit.service.sql.statements).
+ */
+@Aspect
+public class ServiceMetricsAspect {
+    static final String TIMER = "shareit.service.requests";
+    static final String STATEMENTS = "shareit.service.sql.statements";
+    private static final String STATE_PARAMETER = "state";
+    private static final String NO_STATE = "none";
+
+    private final MeterRegistry registry;
+    private final SqlStatementCounter statementCounter;
+
+    public ServiceMetricsAspect(MeterRegistry registry, SqlStatementCounter statementCounter) {
+        this.registry = registry;
+        this.statementCounter = statementCounter;
+    }
+
+    @Around("execution(public * ru.practicum.shareit..service.*ServiceImpl.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getTarget().getClass().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        long statementsBefore = statementCounter.current();
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(TIMER)
+                    .description("Service method latency")
+                    .tag("service", service)
+                    .tag("method", method)
+                    .tag("state", state(joinPoint))
+                    .tag("outcome", outcome)
+                    .register(registry));
+            DistributionSummary.builder(STATEMENTS)
+                    .description("SQL statements per service method call")
+                    .tag("service", service)
+                    .tag("method", method)
+                    .register(registry)
+                    .record(statementCounter.current() - statementsBefore);
+        }
+    }
+
+    static String outcome(Throwable e) {
+        if (e instanceof ObjectNotFoundException || e instanceof EntityNotFoundException) {
+            return "not_found";
+        }
+        if (e instanceof AccessIsNotAllowedException) {
+            return "access_denied";
+        }
+        if (e instanceof UnsupportedStatusException || e instanceof UnavailableItemException
+                || e instanceof DateTimeException || e instanceof InvalidCursorException
+                || e instanceof EmailAlreadyExistsException || e instanceof BookingConflictException) {
+            return "rejected";
+        }
+        return "error";
+    }
+
+    /**
+     * The BookingState a listing was asked for; anything that is not a valid state is tagged as such
+     * rather than by its raw value, so client input cannot create new time series.
+     */
+    private static String state(ProceedingJoinPoint joinPoint) {
+        String[] names = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
+        if (names == null) {
+            return NO_STATE;
+        }
+        Object[] args = joinPoint.getArgs();
+        for (int i = 0; i < names.length; i++) {
+            if (STATE_PARAMETER.equals(names[i])) {
+                try {
+                    return BookingState.valueOf(String.valueOf(args[i])).name();
+                } catch (IllegalArgumentException e) {
+                    return "UNSUPPORTED";
+                }
+            }
+        }
+        return NO_STATE;
+    }
+}
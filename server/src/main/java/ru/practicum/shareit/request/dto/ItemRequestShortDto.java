@@ -0,0 +1,16 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.Builder;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Builder(toBuilder = true)
+@Value
+@RequiredArgsConstructor
+public class ItemRequestShortDto {
+    private final Long id;
+    private final String description;
+    private final LocalDateTime created;
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request.mapper;
 
 import ru.practicum.shareit.request.dto.ItemRequestOutDto;
+import ru.practicum.shareit.request.dto.ItemRequestShortDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
@@ -21,6 +22,15 @@ public class ItemRequestMapper {
         );
     }
 
+    public static ItemRequestOutDto toItemRequestOutDto(ItemRequestShortDto itemRequest, List<ItemDto> items) {
+        return new ItemRequestOutDto(
+                itemRequest.getId(),
+                itemRequest.getDescription(),
+                itemRequest.getCreated(),
+                items == null ? new ArrayList<>() : items
+        );
+    }
+
     public static ItemRequest toItemRequest(ItemRequestDto itemRequestDto, User user) {
         return ItemRequest.builder()
                 .description(itemRequestDto.getDescription())
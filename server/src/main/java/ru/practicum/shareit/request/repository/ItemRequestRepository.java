@@ -2,7 +2,9 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.request.dto.ItemRequestShortDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
@@ -12,8 +14,14 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
 
     List<ItemRequest> findAllByRequesterIdOrderByCreatedDesc(long requesterId);
 
-    List<ItemRequest> findAllByRequesterIdIsNot(Long userId, Pageable pageRequest);
+    @Query("SELECT new ru.practicum.shareit.request.dto.ItemRequestShortDto(r.id, r.description, r.created) " +
+            "FROM ItemRequest r " +
+            "WHERE r.requester.id <> ?1")
+    List<ItemRequestShortDto> findAllByRequesterIdIsNot(Long userId, Pageable pageRequest);
 
-    List<ItemRequest> findAllByRequesterId(long requesterId);
+    @Query("SELECT new ru.practicum.shareit.request.dto.ItemRequestShortDto(r.id, r.description, r.created) " +
+            "FROM ItemRequest r " +
+            "WHERE r.requester.id = ?1")
+    List<ItemRequestShortDto> findAllByRequesterId(long requesterId);
 
 }
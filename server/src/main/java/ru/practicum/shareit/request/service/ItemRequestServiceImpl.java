@@ -13,11 +13,12 @@ import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.mapper.ItemMapper;
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestShortDto;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.util.LogSummary;
 import ru.practicum.shareit.util.exceptions.ObjectNotFoundException;
 
 import java.util.Collections;
@@ -33,6 +34,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final UserJpaRepository userRepository;
     private final ItemJpaRepository itemRepository;
+    private final UserExistenceCache userExistenceCache;
 
     @Override
     @Transactional
@@ -48,13 +50,13 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Transactional(readOnly = true)
     public List<ItemRequestOutDto> getOwnRequests(Long userId) {
         checkUserExists(userId);
-        List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequesterId(userId);
+        List<ItemRequestShortDto> itemRequests = itemRequestRepository.findAllByRequesterId(userId);
 
-        Map<ItemRequest, List<ItemDto>> map = getAllItemsForListRequests(itemRequests);
+        Map<Long, List<ItemDto>> map = getAllItemsForListRequests(itemRequests);
 
         List<ItemRequestOutDto> requests = itemRequests.stream()
                 .map(item -> ItemRequestMapper
-                        .toItemRequestOutDto(item, map.getOrDefault(item, Collections.emptyList())))
+                        .toItemRequestOutDto(item, map.getOrDefault(item.getId(), Collections.emptyList())))
                 .collect(Collectors.toList());
         logResultList(requests);
         return requests;
@@ -67,14 +69,14 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         int page = from / size;
         Pageable pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "id"));
 
-        List<ItemRequest> itemRequests = itemRequestRepository
+        List<ItemRequestShortDto> itemRequests = itemRequestRepository
                 .findAllByRequesterIdIsNot(userId, pageRequest);
 
-        Map<ItemRequest, List<ItemDto>> map = getAllItemsForListRequests(itemRequests);
+        Map<Long, List<ItemDto>> map = getAllItemsForListRequests(itemRequests);
 
         List<ItemRequestOutDto> requests = itemRequests.stream()
                 .map(item -> ItemRequestMapper
-                        .toItemRequestOutDto(item, map.getOrDefault(item, Collections.emptyList())))
+                        .toItemRequestOutDto(item, map.getOrDefault(item.getId(), Collections.emptyList())))
                 .collect(Collectors.toList());
         logResultList(requests);
         return requests;
@@ -92,13 +94,16 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return itemRequestOutDto;
     }
 
-    private Map<ItemRequest, List<ItemDto>> getAllItemsForListRequests(List<ItemRequest> itemRequests) {
-
-        List<Item> items = itemRepository.findAllByRequestIn(itemRequests);
+    private Map<Long, List<ItemDto>> getAllItemsForListRequests(List<ItemRequestShortDto> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Long> requestIds = itemRequests.stream()
+                .map(ItemRequestShortDto::getId)
+                .collect(Collectors.toUnmodifiableList());
 
-        return items.stream()
-                .collect(Collectors
-                        .groupingBy(Item::getRequest, Collectors.mapping(ItemMapper::toItemDto, Collectors.toUnmodifiableList())));
+        return itemRepository.findAllByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(ItemDto::getRequestId, Collectors.toUnmodifiableList()));
 
     }
 
@@ -115,20 +120,16 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     private List<ItemDto> getItemsByRequestId(Long requestId) {
-        List<Item> itemsByRequestId = itemRepository.findAllByRequestId(requestId);
-        return itemsByRequestId.stream().map(ItemMapper::toItemDto).collect(Collectors.toList());
+        return itemRepository.findAllByRequestId(requestId);
     }
 
     private void checkUserExists(Long userId) {
-        if (!userRepository.existsById(userId)) {
+        if (!userExistenceCache.exists(userId)) {
             throw new ObjectNotFoundException(String.format("User с userId %d не существует", userId));
         }
     }
 
     private void logResultList(List<ItemRequestOutDto> requests) {
-        String result = requests.stream()
-                .map(ItemRequestOutDto::toString)
-                .collect(Collectors.joining(", "));
-        log.info("Список запросов для items: {}", result);
+        log.info("Список запросов для items: {}", LogSummary.of(requests, ItemRequestOutDto::getId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.user.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small LRU cache of e-mail owners used to answer repeated uniqueness checks without a query.
+ * {@link #NO_OWNER} marks an e-mail known to be free. Entries expire after a TTL because other
+ * server instances may change e-mails too; the unique constraint stays the final arbiter.
+ */
+@Component
+public class UserEmailCache {
+    public static final Long NO_OWNER = 0L;
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<String, CachedOwner> entries;
+
+    public UserEmailCache(@Value("${shareit.users.email-cache.size:1024}") int maxSize,
+                          @Value("${shareit.users.email-cache.ttl:60s}") Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedOwner> eldest) {
+                return size() > UserEmailCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return id of the user owning the e-mail, {@link #NO_OWNER} if it is free, or null if unknown
+     */
+    public synchronized Long getOwnerId(String email) {
+        CachedOwner entry = entries.get(email);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.createdAt > ttlNanos) {
+            entries.remove(email);
+            return null;
+        }
+        return entry.ownerId;
+    }
+
+    public synchronized void put(String email, Long ownerId) {
+        entries.put(email, new CachedOwner(ownerId, System.nanoTime()));
+    }
+
+    public synchronized void evict(String email) {
+        entries.remove(email);
+    }
+
+    public synchronized void releaseByOwnerId(Long ownerId) {
+        entries.replaceAll((email, entry) ->
+                entry.ownerId.equals(ownerId) ? new CachedOwner(NO_OWNER, System.nanoTime()) : entry);
+    }
+
+    private static final class CachedOwner {
+        private final Long ownerId;
+        private final long createdAt;
+
+        private CachedOwner(Long ownerId, long createdAt) {
+            this.ownerId = ownerId;
+            this.createdAt = createdAt;
+        }
+    }
+}
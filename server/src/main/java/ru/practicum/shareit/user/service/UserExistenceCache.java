@@ -0,0 +1,45 @@
+package ru.practicum.shareit.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.user.repository.UserJpaRepository;
+
+import java.time.Duration;
+
+/**
+ * Remembers ids of users known to exist, so that validating X-Sharer-User-Id does not cost a query
+ * on every request. Only positive answers are cached: ids are never reused, and a missing user may
+ * be created at any moment. Deleted users are evicted by {@link UserService#deleteById}.
+ */
+@Component
+public class UserExistenceCache {
+    private final UserJpaRepository userJpaRepository;
+    private final Cache<Long, Boolean> existingUsers;
+
+    public UserExistenceCache(UserJpaRepository userJpaRepository,
+                              @Value("${shareit.users.existence-cache.size:10000}") long maxSize,
+                              @Value("${shareit.users.existence-cache.ttl:5m}") Duration ttl) {
+        this.userJpaRepository = userJpaRepository;
+        this.existingUsers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public boolean exists(Long userId) {
+        if (existingUsers.getIfPresent(userId) != null) {
+            return true;
+        }
+        boolean exists = userJpaRepository.existsById(userId);
+        if (exists) {
+            existingUsers.put(userId, Boolean.TRUE);
+        }
+        return exists;
+    }
+
+    public void evict(Long userId) {
+        existingUsers.invalidate(userId);
+    }
+}
@@ -2,31 +2,49 @@ package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
+import ru.practicum.shareit.util.LogSummary;
 import ru.practicum.shareit.util.Validation;
 import ru.practicum.shareit.util.exceptions.EmailAlreadyExistsException;
 import ru.practicum.shareit.util.exceptions.ObjectNotFoundException;
 
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.util.TransactionCallbacks.afterCommit;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserServiceImpl implements UserService {
 
+    private static final String EMAIL_CONSTRAINT = "unique_user_email";
+
     private final UserJpaRepository userJpaRepository;
+    private final UserEmailCache userEmailCache;
+    private final UserExistenceCache userExistenceCache;
 
     @Override
     public UserDto create(UserDto userDto) {
         User user = UserMapper.toUser(userDto);
-        User savedUser = userJpaRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userJpaRepository.save(user);
+        } catch (DataIntegrityViolationException exception) {
+            if (!isEmailConstraintViolation(exception)) {
+                throw exception;
+            }
+            userEmailCache.evict(user.getEmail());
+            log.info("Email {} уже есть в БД", user.getEmail());
+            throw new EmailAlreadyExistsException(
+                    String.format("Email %s уже зарегистрирован в базе.", user.getEmail()));
+        }
+        userEmailCache.put(savedUser.getEmail(), savedUser.getId());
         log.info("Создан user --> {} ", savedUser);
         return UserMapper.toUserDto(savedUser);
     }
@@ -41,8 +59,27 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public UserDto update(UserDto userDto, Long userId) {
-        User user = updateValidFields(userDto, userId);
-        userJpaRepository.save(user);
+        User oldUser = getUserByIdIfExists(userId);
+        User user = updateValidFields(oldUser, userDto, userId);
+        try {
+            userJpaRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException exception) {
+            if (!isEmailConstraintViolation(exception)) {
+                throw exception;
+            }
+            userEmailCache.evict(user.getEmail());
+            log.info("Email {} уже есть в БД", user.getEmail());
+            throw new EmailAlreadyExistsException(
+                    String.format("Email %s уже зарегистрирован в базе.", user.getEmail()));
+        }
+        if (!user.getEmail().equals(oldUser.getEmail())) {
+            String oldEmail = oldUser.getEmail();
+            String newEmail = user.getEmail();
+            afterCommit(() -> {
+                userEmailCache.put(oldEmail, UserEmailCache.NO_OWNER);
+                userEmailCache.put(newEmail, userId);
+            });
+        }
         log.info("Изменен user --> {} для userId --> {}", user, user.getId());
         return UserMapper.toUserDto(user);
     }
@@ -53,6 +90,10 @@ public class UserServiceImpl implements UserService {
         if (userJpaRepository.existsById(userId)) {
             log.info("Удален user для userId --> {}", userId);
             userJpaRepository.deleteById(userId);
+            afterCommit(() -> {
+                userEmailCache.releaseByOwnerId(userId);
+                userExistenceCache.evict(userId);
+            });
         }
         log.info("Не найден user для userId --> {} не найден", userId);
     }
@@ -66,9 +107,8 @@ public class UserServiceImpl implements UserService {
         return usersDto;
     }
 
-    private User updateValidFields(UserDto userDto, Long userId) {
+    private User updateValidFields(User user, UserDto userDto, Long userId) {
 
-        User user = getUserByIdIfExists(userId);
         String newEmail = userDto.getEmail();
         String newName = userDto.getName();
         if (Validation.stringIsNotNullOrBlank(newEmail) && Validation.validEmail(newEmail)) {
@@ -83,16 +123,27 @@ public class UserServiceImpl implements UserService {
 
     private void checkEmailExists(String email, Long userId) {
 
-        Optional<User> userWithSameEmail = userJpaRepository.findAll().stream()
-                .filter(user -> user.getEmail().equals(email) && !user.getId().equals(userId))
-                .findAny();
+        Long ownerId = userEmailCache.getOwnerId(email);
+        if (ownerId == null) {
+            ownerId = userJpaRepository.findByEmailAndIdIsNot(email, userId)
+                    .map(User::getId)
+                    .orElse(UserEmailCache.NO_OWNER);
+            if (!UserEmailCache.NO_OWNER.equals(ownerId)) {
+                userEmailCache.put(email, ownerId);
+            }
+        }
 
-        if (userWithSameEmail.isPresent()) {
-            log.info("Email {} уже есть в БД --> {}", email);
+        if (!UserEmailCache.NO_OWNER.equals(ownerId) && !ownerId.equals(userId)) {
+            log.info("Email {} уже есть в БД", email);
             throw new EmailAlreadyExistsException(String.format("Email %s уже зарегистрирован в базе.", email));
         }
     }
 
+    private boolean isEmailConstraintViolation(DataIntegrityViolationException exception) {
+        String message = exception.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains(EMAIL_CONSTRAINT);
+    }
+
     private User getUserByIdIfExists(Long userId) {
         return userJpaRepository.findById(userId)
                 .orElseThrow(() ->
@@ -100,9 +151,6 @@ public class UserServiceImpl implements UserService {
     }
 
     private void writeToLog(List<UserDto> users) {
-        String result = users.stream()
-                .map(UserDto::toString)
-                .collect(Collectors.joining(", "));
-        log.info("Найден список пользователей {}", result);
+        log.info("Найден список пользователей {}", LogSummary.of(users, UserDto::getId));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.util;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * Log argument for a result list: the size and the first ids, rendered only when the message is actually written.
+ * Use as a {} parameter instead of joining the elements' toString.
+ */
+public class LogSummary<T> {
+    private static final int MAX_IDS = 10;
+
+    private final Collection<T> items;
+    private final Function<? super T, ?> idExtractor;
+
+    private LogSummary(Collection<T> items, Function<? super T, ?> idExtractor) {
+        this.items = items;
+        this.idExtractor = idExtractor;
+    }
+
+    public static <T> LogSummary<T> of(Collection<T> items, Function<? super T, ?> idExtractor) {
+        return new LogSummary<>(items, idExtractor);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder(32 + MAX_IDS * 8).append(items.size()).append(" шт.");
+        if (items.isEmpty()) {
+            return summary.toString();
+        }
+        summary.append(", id: [");
+        Iterator<T> iterator = items.iterator();
+        for (int i = 0; i < MAX_IDS && iterator.hasNext(); i++) {
+            if (i > 0) {
+                summary.append(", ");
+            }
+            summary.append(idExtractor.apply(iterator.next()));
+        }
+        if (iterator.hasNext()) {
+            summary.append(", ...");
+        }
+        return summary.append(']').toString();
+    }
+}
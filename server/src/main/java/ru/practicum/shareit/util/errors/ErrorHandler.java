@@ -8,8 +8,10 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ru.practicum.shareit.util.exceptions.AccessIsNotAllowedException;
+import ru.practicum.shareit.util.exceptions.BookingConflictException;
 import ru.practicum.shareit.util.exceptions.EmailAlreadyExistsException;
 import ru.practicum.shareit.util.exceptions.DateTimeException;
+import ru.practicum.shareit.util.exceptions.InvalidCursorException;
 import ru.practicum.shareit.util.exceptions.ObjectNotFoundException;
 import ru.practicum.shareit.util.exceptions.UnavailableItemException;
 import ru.practicum.shareit.util.exceptions.UnsupportedStatusException;
@@ -35,8 +37,14 @@ public class ErrorHandler {
         return new ErrorResponse("E-mail уже существует " + e.getMessage());
     }
 
+    @ExceptionHandler(BookingConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookingConflict(final RuntimeException e) {
+        return new ErrorResponse("Конфликт бронирования: " + e.getMessage());
+    }
+
     @ExceptionHandler({MethodArgumentNotValidException.class,
-            DateTimeException.class, UnavailableItemException.class})
+            DateTimeException.class, UnavailableItemException.class, InvalidCursorException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleFailValidation(final RuntimeException e) {
         return new ErrorResponse("Ошибка валидации: " + e.getMessage());
@@ -0,0 +1,8 @@
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm
+    ON items USING GIN (UPPER(name) gin_trgm_ops) WHERE available = true;
+
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm
+    ON items USING GIN (UPPER(description) gin_trgm_ops) WHERE available = true;
@@ -0,0 +1,92 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserJpaRepository;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class EntityCacheTest {
+    @Autowired
+    private UserJpaRepository userRepository;
+    @Autowired
+    private ItemJpaRepository itemRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void findById_whenEntityWasLoaded_isServedFromSecondLevelCache_andCountedAsHit() {
+        User user = userRepository.save(User.builder().name("Alex").email("Alex@yandex.ru").build());
+        userRepository.findById(user.getId());
+
+        assertTrue(entityManagerFactory.getCache().contains(User.class, user.getId()));
+        double hitsBefore = getCacheHits(User.class);
+
+        assertThat(userRepository.findById(user.getId())).contains(user);
+
+        assertThat(getCacheHits(User.class)).isGreaterThan(hitsBefore);
+    }
+
+    @Test
+    public void deleteUser_evictsItemsRemovedByDatabaseCascade() {
+        User owner = userRepository.save(User.builder().name("Alex").email("Alex@yandex.ru").build());
+        Item item = itemRepository.save(Item.builder()
+                .name("bike")
+                .description("new")
+                .available(true)
+                .owner(owner)
+                .build());
+        itemRepository.findById(item.getId());
+        assertTrue(entityManagerFactory.getCache().contains(Item.class, item.getId()));
+
+        userRepository.deleteById(owner.getId());
+
+        assertThat(itemRepository.findById(item.getId())).isEmpty();
+    }
+
+    @Test
+    public void deleteUser_evictsDependantsOnlyAfterCommit() {
+        User owner = userRepository.save(User.builder().name("Alex").email("Alex@yandex.ru").build());
+        Item item = itemRepository.save(Item.builder()
+                .name("bike")
+                .description("new")
+                .available(true)
+                .owner(owner)
+                .build());
+        itemRepository.findById(item.getId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userRepository.deleteById(owner.getId());
+            userRepository.flush();
+
+            assertTrue(entityManagerFactory.getCache().contains(Item.class, item.getId()));
+        });
+
+        assertFalse(entityManagerFactory.getCache().contains(Item.class, item.getId()));
+    }
+
+    private double getCacheHits(Class<?> entity) {
+        return meterRegistry.get("cache.gets")
+                .tags("cache", entity.getName(), "result", "hit")
+                .functionCounter()
+                .count();
+    }
+}
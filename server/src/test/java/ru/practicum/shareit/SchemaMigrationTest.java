@@ -0,0 +1,65 @@
+package ru.practicum.shareit;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class SchemaMigrationTest {
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    public void migrations_createIndexesForBookingQueries() {
+        Map<String, List<String>> indexes = getIndexColumns("bookings");
+
+        assertThat(indexes.get("IDX_BOOKINGS_ITEM_STATUS_START"))
+                .containsExactly("ITEM_ID", "STATUS", "START_TIME");
+        assertThat(indexes.get("IDX_BOOKINGS_BOOKER_START"))
+                .containsExactly("BOOKER_ID", "START_TIME");
+    }
+
+    @Test
+    public void migrations_createIndexesForForeignKeys() {
+        assertThat(getIndexColumns("items").get("IDX_ITEMS_OWNER_ID")).containsExactly("OWNER_ID", "ID");
+        assertThat(getIndexColumns("items").get("IDX_ITEMS_REQUEST_ID")).containsExactly("REQUEST_ID");
+        assertThat(getIndexColumns("comments").get("IDX_COMMENTS_ITEM_ID")).containsExactly("ITEM_ID");
+        assertThat(getIndexColumns("requests").get("IDX_REQUESTS_REQUESTER_CREATED"))
+                .containsExactly("REQUESTER_ID", "CREATED");
+    }
+
+    @SneakyThrows
+    private Map<String, List<String>> getIndexColumns(String table) {
+        Map<String, TreeMap<Short, String>> positions = new HashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase() : table;
+            try (ResultSet resultSet = metaData.getIndexInfo(null, null, tableName, false, false)) {
+                while (resultSet.next()) {
+                    String indexName = resultSet.getString("INDEX_NAME");
+                    String columnName = resultSet.getString("COLUMN_NAME");
+                    if (indexName != null && columnName != null) {
+                        positions.computeIfAbsent(indexName.toUpperCase(), name -> new TreeMap<>())
+                                .put(resultSet.getShort("ORDINAL_POSITION"), columnName.toUpperCase());
+                    }
+                }
+            }
+        }
+        Map<String, List<String>> indexes = new HashMap<>();
+        positions.forEach((name, columns) -> indexes.put(name, new ArrayList<>(columns.values())));
+        return indexes;
+    }
+}
@@ -5,7 +5,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.validation.annotation.Validated;
 import ru.practicum.shareit.booking.controller.BookingController;
@@ -173,9 +172,9 @@ class ShareItTests {
     public void shouldFailCreateUserWithSameEmail() {
 
         userController.create(userAlex1);
-        assertThrows(DataIntegrityViolationException.class,
+        assertThrows(EmailAlreadyExistsException.class,
                 () -> userController.create(userAlex3),
-                "Не выброшено исключение DataIntegrityViolationException.");
+                "Не выброшено исключение EmailAlreadyExistsException.");
 
     }
 
@@ -424,12 +423,12 @@ class ShareItTests {
         ItemResponseDto itemOutDto = ItemMapper.toItemResponseDto(itemDto);
         final Long userId = userDto.getId();
         final Long itemId = itemDto.getId();
-        List<ItemResponseDto> listWithItem = itemController.getListByUser(userId);
+        List<ItemResponseDto> listWithItem = itemController.getListByUser(userId, 0, 10, null);
         assertThat(listWithItem).asList().hasSize(1);
         assertThat(listWithItem).asList().contains(itemOutDto);
 
         itemController.delete(itemId);
-        List<ItemResponseDto> list = itemController.getListByUser(userId);
+        List<ItemResponseDto> list = itemController.getListByUser(userId, 0, 10, null);
         assertThat(list).asList().hasSize(0);
         assertThat(list).asList().isEmpty();
 
@@ -450,8 +449,8 @@ class ShareItTests {
         ItemResponseDto item2OutDto = ItemMapper.toItemResponseDto(item2Dto);
         ItemResponseDto item3OutDto = ItemMapper.toItemResponseDto(item3Dto);
 
-        List<ItemResponseDto> listItems = itemController.getListByUser(user1Id);
-        List<ItemResponseDto> list2Items = itemController.getListByUser(user4Id);
+        List<ItemResponseDto> listItems = itemController.getListByUser(user1Id, 0, 10, null);
+        List<ItemResponseDto> list2Items = itemController.getListByUser(user4Id, 0, 10, null);
 
         assertThat(listItems).asList().hasSize(2);
 
@@ -489,7 +488,7 @@ class ShareItTests {
 
         // получаем список доступных вещей, содержащих в названии или описании подстроку er без учета регистра
         // проверяем корректность полученных данных - 1 вещь,
-        List<ItemResponseDto> listItems = itemController.searchItemsBySubstring("Er");
+        List<ItemResponseDto> listItems = itemController.searchItemsBySubstring("Er", 0, 10, null);
 
         assertThat(listItems).asList().hasSize(1);
 
@@ -502,7 +501,7 @@ class ShareItTests {
 
         // получаем список доступных вещей, содержащих в названии или описании подстроку er без учета регистра
         // проверяем корректность полученных данных - 2 вещи,
-        List<ItemResponseDto> list2Items = itemController.searchItemsBySubstring("e");
+        List<ItemResponseDto> list2Items = itemController.searchItemsBySubstring("e", 0, 10, null);
 
         assertThat(list2Items).asList().hasSize(2);
 
@@ -14,6 +14,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.model.Item;
@@ -37,6 +38,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -558,4 +560,41 @@ public class BookingControllerTest {
 
     }
 
+    @Test
+    @SneakyThrows
+    public void getListByOwner_WhenCursorIsPresent_AndPageIsFull_ReturnNextCursorHeader() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 1, 1, 1);
+        BookingResponseDto booking = BookingResponseDto.builder()
+                .id(3L)
+                .start(start)
+                .end(start.plusDays(1))
+                .status(BookingStatus.APPROVED)
+                .build();
+
+        when(bookingService.getListByOwnerAfterCursor(userId, "ALL", "", 1)).thenReturn(List.of(booking));
+
+        mockMvc.perform(get("/bookings/owner")
+                .header(header, userId)
+                .param("cursor", "")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string(BookingController.NEXT_CURSOR_HEADER,
+                        BookingCursor.encode(start, 3L)));
+
+        verify(bookingService, never()).getListByOwner(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    @SneakyThrows
+    public void getListByBooker_WhenCursorIsPresent_AndPageIsNotFull_DoNotReturnNextCursorHeader() {
+        when(bookingService.getListByBookerAfterCursor(userId, "ALL", "abc", 10)).thenReturn(List.of());
+
+        mockMvc.perform(get("/bookings")
+                .header(header, userId)
+                .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(BookingController.NEXT_CURSOR_HEADER));
+    }
+
 }
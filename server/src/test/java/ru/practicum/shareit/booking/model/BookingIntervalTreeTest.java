@@ -0,0 +1,88 @@
+package ru.practicum.shareit.booking.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BookingIntervalTreeTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    public void overlapping_returnIntervalsIntersectingWindowOrderedByStart() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        tree.put(interval(1L, 10, 20));
+        tree.put(interval(2L, 0, 5));
+        tree.put(interval(3L, 20, 30));
+
+        assertEquals(List.of(1L, 3L), ids(tree.overlapping(hour(15), hour(25))));
+        assertEquals(List.of(2L), ids(tree.overlapping(hour(0), hour(10))));
+        assertTrue(tree.overlapping(hour(5), hour(10)).isEmpty());
+    }
+
+    @Test
+    public void put_whenSameBooking_replaceInterval() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        tree.put(interval(1L, 0, 10));
+        tree.put(new BookingInterval(1L, hour(0), hour(10), BookingStatus.APPROVED));
+
+        List<BookingInterval> intervals = tree.overlapping(hour(0), hour(10));
+        assertEquals(1, tree.size());
+        assertEquals(BookingStatus.APPROVED, intervals.get(0).getStatus());
+    }
+
+    @Test
+    public void overlapping_whenRandomPutsAndRemoves_matchBruteForce() {
+        SplittableRandom random = new SplittableRandom(42);
+        BookingIntervalTree tree = new BookingIntervalTree();
+        Map<Long, BookingInterval> expected = new HashMap<>();
+
+        for (long id = 1; id <= 5000; id++) {
+            if (!expected.isEmpty() && random.nextInt(4) == 0) {
+                Long removed = new ArrayList<>(expected.keySet()).get(random.nextInt(expected.size()));
+                expected.remove(removed);
+                tree.remove(removed);
+            }
+            int start = random.nextInt(1000);
+            BookingInterval interval = interval(id, start, start + 1 + random.nextInt(48));
+            expected.put(id, interval);
+            tree.put(interval);
+
+            if (id % 100 == 0) {
+                int from = random.nextInt(1000);
+                LocalDateTime windowFrom = hour(from);
+                LocalDateTime windowTo = hour(from + 1 + random.nextInt(100));
+                List<Long> bruteForce = expected.values().stream()
+                        .filter(i -> i.getStart().isBefore(windowTo) && i.getEnd().isAfter(windowFrom))
+                        .sorted(Comparator.comparing(BookingInterval::getStart)
+                                .thenComparing(BookingInterval::getBookingId))
+                        .map(BookingInterval::getBookingId)
+                        .collect(Collectors.toList());
+
+                assertEquals(bruteForce, ids(tree.overlapping(windowFrom, windowTo)));
+                assertEquals(expected.size(), tree.size());
+            }
+        }
+    }
+
+    private static BookingInterval interval(Long id, int startHour, int endHour) {
+        return new BookingInterval(id, hour(startHour), hour(endHour), BookingStatus.WAITING);
+    }
+
+    private static LocalDateTime hour(int hour) {
+        return BASE.plusHours(hour);
+    }
+
+    private static List<Long> ids(List<BookingInterval> intervals) {
+        return intervals.stream().map(BookingInterval::getBookingId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,133 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserJpaRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false"})
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class BookingRepositoryQueryCountTest {
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+    @Autowired
+    private ItemJpaRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private BookingJpaRepository bookingRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    public void beforeEach() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = userRepository.save(User.builder().name("Owner").email("Owner@yandex.ru").build());
+        booker = userRepository.save(User.builder().name("Alex").email("Alex@yandex.ru").build());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            User requester = userRepository.save(User.builder()
+                    .name("requester" + i)
+                    .email("requester" + i + "@yandex.ru")
+                    .build());
+            ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                    .description("request" + i)
+                    .requester(requester)
+                    .created(now)
+                    .build());
+            Item item = itemRepository.save(Item.builder()
+                    .name("item" + i)
+                    .description("description" + i)
+                    .available(true)
+                    .owner(owner)
+                    .request(request)
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .start(now.plusDays(i + 1))
+                    .end(now.plusDays(i + 2))
+                    .item(item)
+                    .booker(booker)
+                    .status(BookingStatus.APPROVED)
+                    .build());
+        }
+    }
+
+    @Test
+    public void findAllByItemOwnerId_loadsPageWithOneStatement() {
+        PageRequest page = PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "start"));
+
+        long statements = countStatements(() -> bookingRepository.findAllByItem_Owner_Id(owner.getId(), page));
+
+        assertEquals(1, statements);
+    }
+
+    @Test
+    public void findAllByBookerId_loadsPageWithOneStatement() {
+        PageRequest page = PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "start"));
+
+        long statements = countStatements(() -> bookingRepository.findAllByBookerId(booker.getId(), page));
+
+        assertEquals(1, statements);
+    }
+
+    @Test
+    public void findAllByOwnerIdAfterCursor_loadsPageWithOneStatement() {
+        long statements = countStatements(() -> bookingRepository.findAllByOwnerIdAfterCursor(
+                owner.getId(), LocalDateTime.now().plusYears(1), Long.MAX_VALUE, PageRequest.ofSize(PAGE_SIZE)));
+
+        assertEquals(1, statements);
+    }
+
+    private long countStatements(BookingPageQuery query) {
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Booking> bookings = query.fetch();
+            assertEquals(PAGE_SIZE, bookings.size());
+            bookings.forEach(booking -> {
+                booking.getBooker().getName();
+                booking.getItem().getOwner().getName();
+                if (booking.getItem().getRequest() != null) {
+                    booking.getItem().getRequest().getRequester().getName();
+                }
+            });
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    @FunctionalInterface
+    private interface BookingPageQuery {
+        List<Booking> fetch();
+    }
+}
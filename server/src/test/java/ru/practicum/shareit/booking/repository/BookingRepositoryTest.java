@@ -9,6 +9,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.ItemBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
@@ -26,6 +27,9 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 @DataJpaTest
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
 public class BookingRepositoryTest {
+    // fixtures are dated around this moment: current spans it, waiting/approved/rejected start after it
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 1, 1, 1);
+
     @Autowired
     private BookingJpaRepository bookingRepository;
     @Autowired
@@ -119,7 +123,7 @@ public class BookingRepositoryTest {
     @Test
     public void findAllByItem_Owner_IdAndEndIsBeforeOrderByStartDesc() {
 
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = NOW;
         List<Booking> result = bookingRepository
                 .findAllByItem_Owner_IdAndEndIsBefore(ownerId, now, page);
 
@@ -130,7 +134,7 @@ public class BookingRepositoryTest {
 
     @Test
     public void findAllByItem_Owner_IdAndStartIsBeforeAndEndIsAfterOrderByStartDesc() {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = NOW;
         List<Booking> result = bookingRepository
                 .findAllByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(ownerId, now, now, page);
 
@@ -145,7 +149,7 @@ public class BookingRepositoryTest {
     @Test
     public void findAllByItem_Owner_IdAndStartIsAfterOrderByStartDesc() {
 
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = NOW;
         List<Booking> result = bookingRepository
                 .findAllByItem_Owner_IdAndStartIsAfter(ownerId, now, page);
 
@@ -206,7 +210,7 @@ public class BookingRepositoryTest {
     @Test
     public void findAllByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc() {
 
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = NOW;
         List<Booking> result = bookingRepository
                 .findAllByBookerIdAndStartIsBeforeAndEndIsAfter(bookerId, now, now, page);
 
@@ -222,7 +226,7 @@ public class BookingRepositoryTest {
     @Test
     public void findAllByBookerIdAndStartIsAfterOrderByStartDesc() {
 
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = NOW;
         List<Booking> result = bookingRepository
                 .findAllByBookerIdAndStartIsAfter(bookerId, now, page);
 
@@ -238,7 +242,7 @@ public class BookingRepositoryTest {
     @Test
     public void findAllByBookerIdAndEndIsBeforeOrderByStartDesc() {
 
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = NOW;
 
         List<Booking> result = bookingRepository
                 .findAllByBookerIdAndEndIsBefore(bookerId, now, page);
@@ -280,7 +284,7 @@ public class BookingRepositoryTest {
     @Test
     public void findFirstByItemIdAndStatusAndStartIsBeforeOrStartEqualsOrderByEndDesc() {
 
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = NOW;
 
         Optional<Booking> lastBooking = bookingRepository
                 .findFirstByItemIdAndStatusAndStartIsBeforeOrStartEqualsOrderByEndDesc(itemId,
@@ -298,7 +302,7 @@ public class BookingRepositoryTest {
     @Test
     public void findFirstByItemIdAndStatusAndStartIsAfterOrStartEqualsOrderByStart() {
 
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = NOW;
 
         Optional<Booking> lastBooking = bookingRepository
                 .findFirstByItemIdAndStatusAndStartIsAfterOrStartEqualsOrderByStart(itemId,
@@ -314,16 +318,80 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    public void findAllByItem_IdAndBooker_IdAndStatusAndStartIsBefore() {
+    public void existsByItem_IdAndBooker_IdAndStatusAndStartIsBefore() {
 
-        LocalDateTime now = LocalDateTime.now();
-        List<Booking> result = bookingRepository
-                .findAllByItem_IdAndBooker_IdAndStatusAndStartIsBefore(itemId, bookerId, BookingStatus.APPROVED, now);
+        LocalDateTime now = NOW;
+
+        assertThat(bookingRepository.existsByItem_IdAndBooker_IdAndStatusAndStartIsBefore(
+                itemId, bookerId, BookingStatus.APPROVED, now)).isTrue();
+        assertThat(bookingRepository.existsByItem_IdAndBooker_IdAndStatusAndStartIsBefore(
+                itemId, ownerId, BookingStatus.APPROVED, now)).isFalse();
+    }
+
+    @Test
+    public void findLastBookingsByItemIds() {
+
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 1, 1, 1);
+        List<ItemBookingDto> result = bookingRepository
+                .findLastBookingsByItemIds(List.of(itemId), BookingStatus.APPROVED, now);
 
         AssertionsForClassTypes.assertThat(result).asList()
-                .hasSize(2)
-                .startsWith(past)
-                .endsWith(current);
+                .hasSize(1)
+                .containsExactly(new ItemBookingDto(itemId, current.getId(), bookerId));
     }
 
+    @Test
+    public void findNextBookingsByItemIds() {
+
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 1, 1, 1);
+        List<ItemBookingDto> result = bookingRepository
+                .findNextBookingsByItemIds(List.of(itemId), BookingStatus.APPROVED, now);
+
+        AssertionsForClassTypes.assertThat(result).asList()
+                .hasSize(1)
+                .containsExactly(new ItemBookingDto(itemId, approved.getId(), bookerId));
+    }
+
+
+    @Test
+    public void findAllByOwnerIdAfterCursor_returnBookingsAfterCursorInKeysetOrder() {
+        List<Booking> result = bookingRepository.findAllByOwnerIdAfterCursor(
+                ownerId, approved.getStart(), approved.getId(), PageRequest.of(0, 10));
+
+        AssertionsForClassTypes.assertThat(result).asList()
+                .containsExactly(waiting, rejected, current, past);
+    }
+
+    @Test
+    public void findAllByOwnerIdAfterCursor_whenStartIsEqual_compareById() {
+        Booking sameStart = bookingRepository.save(waiting.toBuilder().id(null).build());
+
+        List<Booking> result = bookingRepository.findAllByOwnerIdAfterCursor(
+                ownerId, sameStart.getStart(), sameStart.getId(), PageRequest.of(0, 2));
+
+        AssertionsForClassTypes.assertThat(result).asList()
+                .containsExactly(waiting, rejected);
+    }
+
+    @Test
+    public void findPastByBookerIdAfterCursor_returnOnlyPastBookingsAfterCursor() {
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 0, 0);
+
+        List<Booking> result = bookingRepository.findPastByBookerIdAfterCursor(
+                bookerId, approved.getStart(), approved.getId(), now, PageRequest.of(0, 10));
+
+        AssertionsForClassTypes.assertThat(result).asList()
+                .containsExactly(waiting, rejected, current, past);
+    }
+
+    @Test
+    public void findAllByBookerIdAndStatusInAfterCursor_returnNotApprovedBookingsAfterCursor() {
+        List<BookingStatus> notApprovedStatus = List.of(BookingStatus.REJECTED, BookingStatus.CANCELED);
+
+        List<Booking> result = bookingRepository.findAllByBookerIdAndStatusInAfterCursor(
+                bookerId, waiting.getStart(), waiting.getId(), notApprovedStatus, PageRequest.of(0, 10));
+
+        AssertionsForClassTypes.assertThat(result).asList()
+                .containsExactly(rejected);
+    }
 }
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.exceptions.BookingConflictException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@Slf4j
+public class BookingConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 250;
+    private static final int HOT_ITEMS = 3;
+    private static final int SLOTS = 200;
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    public void create_whenManyThreadsBookHotItems_neverAcceptOverlappingBookings() throws Exception {
+        Long ownerId = userService.create(UserDto.builder().name("Owner").email("Owner@yandex.ru").build()).getId();
+        List<Long> itemIds = new ArrayList<>(HOT_ITEMS);
+        for (int i = 0; i < HOT_ITEMS; i++) {
+            itemIds.add(itemService.create(ownerId,
+                    ItemDto.builder().name("drill" + i).description("hot").available(true).build()).getId());
+        }
+        List<Long> bookerIds = new ArrayList<>(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            bookerIds.add(userService.create(
+                    UserDto.builder().name("Booker" + i).email("Booker" + i + "@yandex.ru").build()).getId());
+        }
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<int[]>> results = new ArrayList<>(THREADS);
+        long startNanos = System.nanoTime();
+        for (int thread = 0; thread < THREADS; thread++) {
+            Long bookerId = bookerIds.get(thread);
+            SplittableRandom random = new SplittableRandom(thread);
+            Callable<int[]> worker = () -> {
+                int[] createdAndRejected = new int[2];
+                for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+                    // one to three hours starting at a random hour: neighbours overlap, touching ones do not
+                    LocalDateTime start = from.plusHours(random.nextInt(SLOTS));
+                    BookingRequestDto booking = BookingRequestDto.builder()
+                            .itemId(itemIds.get(random.nextInt(HOT_ITEMS)))
+                            .start(start)
+                            .end(start.plusHours(1 + random.nextInt(3)))
+                            .build();
+                    try {
+                        bookingService.create(bookerId, booking);
+                        createdAndRejected[0]++;
+                    } catch (BookingConflictException e) {
+                        createdAndRejected[1]++;
+                    }
+                }
+                return createdAndRejected;
+            };
+            results.add(executor.submit(worker));
+        }
+
+        int created = 0;
+        int rejected = 0;
+        for (Future<int[]> result : results) {
+            int[] createdAndRejected = result.get(2, TimeUnit.MINUTES);
+            created += createdAndRejected[0];
+            rejected += createdAndRejected[1];
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        executor.shutdown();
+        log.info("Создано {} booking, отклонено {} за {} мс", created, rejected, elapsedMillis);
+
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD, created + rejected);
+        assertThat(rejected).isPositive();
+
+        List<BookingResponseDto> bookings = bookingService.getListByOwner(ownerId, "WAITING", 0, created + 1);
+        assertEquals(created, bookings.size());
+        Map<Long, List<BookingResponseDto>> byItem = bookings.stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        for (List<BookingResponseDto> itemBookings : byItem.values()) {
+            itemBookings.sort(Comparator.comparing(BookingResponseDto::getStart));
+            for (int i = 1; i < itemBookings.size(); i++) {
+                assertThat(itemBookings.get(i).getStart()).isAfterOrEqualTo(itemBookings.get(i - 1).getEnd());
+            }
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -14,13 +15,18 @@ import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingJpaRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.item.service.ItemAvailabilityCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 import ru.practicum.shareit.util.exceptions.AccessIsNotAllowedException;
+import ru.practicum.shareit.util.exceptions.BookingConflictException;
+import ru.practicum.shareit.util.exceptions.InvalidCursorException;
 import ru.practicum.shareit.util.exceptions.ObjectNotFoundException;
 import ru.practicum.shareit.util.exceptions.UnavailableItemException;
 import ru.practicum.shareit.util.exceptions.UnsupportedStatusException;
@@ -36,6 +42,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -49,6 +56,10 @@ public class BookingServiceImplTest {
     @Mock
     private UserJpaRepository userRepository;
     @Mock
+    private UserExistenceCache userExistenceCache;
+    @Mock
+    private ItemAvailabilityCache itemAvailabilityCache;
+    @Mock
     private ItemJpaRepository itemRepository;
     @Mock
     private BookingJpaRepository bookingRepository;
@@ -102,7 +113,7 @@ public class BookingServiceImplTest {
         BookingResponseDto expectedBooking = BookingMapper.toBookingResponseDto(savedBooking);
 
         //mock repository answers
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
         when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
         when(bookingRepository.save(booking)).thenReturn(savedBooking);
 
@@ -112,8 +123,10 @@ public class BookingServiceImplTest {
         //verify repositories' invokes and their order
 
         InOrder inOrder = inOrder(itemRepository, userRepository, bookingRepository);
-        inOrder.verify(itemRepository).findById(itemId);
+        inOrder.verify(itemRepository).findByIdForUpdate(itemId);
         inOrder.verify(userRepository).findById(bookerId);
+        inOrder.verify(bookingRepository).existsByItem_IdAndStatusInAndStartIsBeforeAndEndIsAfter(itemId,
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED), endAfterStart, start);
         inOrder.verify(bookingRepository).save(booking);
 
         //test result
@@ -138,6 +151,146 @@ public class BookingServiceImplTest {
     }
 
 
+    @Test
+    public void create_whenItemAlreadyBookedForOverlappingPeriod_thenThrowsBookingConflict_doesNotInvokeSave() {
+
+        //  create Owner
+        User owner = User.builder()
+                .id(1L)
+                .name("Alex")
+                .email("Alex@yandex.ru")
+                .build();
+
+        // create Booker
+        Long bookerId = 2L;
+        User booker = User.builder()
+                .id(bookerId)
+                .name("CustomerName")
+                .email("CustomerName@yandex.ru")
+                .build();
+
+        // create Item
+        Long itemId = 1L;
+        Item item = Item.builder()
+                .id(itemId)
+                .name("bike")
+                .description("new")
+                .available(true)
+                .owner(owner)
+                .build();
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 1, 1, 1);
+        LocalDateTime endAfterStart = start.plusWeeks(1);
+
+        BookingRequestDto bookingDto = BookingRequestDto.builder()
+                .start(start)
+                .end(endAfterStart)
+                .itemId(itemId)
+                .build();
+
+        //mock repository answers
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
+        when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+        when(bookingRepository.existsByItem_IdAndStatusInAndStartIsBeforeAndEndIsAfter(itemId,
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED), endAfterStart, start)).thenReturn(true);
+
+        //invoke tested method to check throws
+        assertThrows(BookingConflictException.class, () -> bookingService.create(bookerId, bookingDto));
+
+        //verify repositories' invokes
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    public void create_whenSaveViolatesBookingPeriodConstraint_thenThrowsBookingConflict_doesNotUpdateCache() {
+
+        //  create Owner
+        User owner = User.builder()
+                .id(1L)
+                .name("Alex")
+                .email("Alex@yandex.ru")
+                .build();
+
+        // create Booker
+        Long bookerId = 2L;
+        User booker = User.builder()
+                .id(bookerId)
+                .name("CustomerName")
+                .email("CustomerName@yandex.ru")
+                .build();
+
+        // create Item
+        Long itemId = 1L;
+        Item item = Item.builder()
+                .id(itemId)
+                .name("bike")
+                .description("new")
+                .available(true)
+                .owner(owner)
+                .build();
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 1, 1, 1);
+        LocalDateTime endAfterStart = start.plusWeeks(1);
+
+        BookingRequestDto bookingDto = BookingRequestDto.builder()
+                .start(start)
+                .end(endAfterStart)
+                .itemId(itemId)
+                .build();
+
+        //mock repository answers: a concurrent booking for the same period is committed after the overlap check
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
+        when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+        when(bookingRepository.save(any()))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new RuntimeException("ERROR: conflicting key value violates exclusion constraint "
+                                + "\"excl_bookings_item_period\"")));
+
+        //invoke tested method to check throws
+        assertThrows(BookingConflictException.class, () -> bookingService.create(bookerId, bookingDto));
+
+        //verify cache is not updated
+        verifyNoInteractions(itemAvailabilityCache);
+    }
+
+    @Test
+    public void create_whenSaveViolatesOtherConstraint_thenRethrowsDataIntegrityViolation() {
+        User owner = User.builder()
+                .id(1L)
+                .name("Alex")
+                .email("Alex@yandex.ru")
+                .build();
+        Long bookerId = 2L;
+        User booker = User.builder()
+                .id(bookerId)
+                .name("CustomerName")
+                .email("CustomerName@yandex.ru")
+                .build();
+        Long itemId = 1L;
+        Item item = Item.builder()
+                .id(itemId)
+                .name("bike")
+                .description("new")
+                .available(true)
+                .owner(owner)
+                .build();
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 1, 1, 1);
+        BookingRequestDto bookingDto = BookingRequestDto.builder()
+                .start(start)
+                .end(start.plusWeeks(1))
+                .itemId(itemId)
+                .build();
+
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
+        when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+        when(bookingRepository.save(any()))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new RuntimeException("ERROR: insert or update on table \"bookings\" violates foreign key "
+                                + "constraint \"fk_bookings_to_users\"")));
+
+        assertThrows(DataIntegrityViolationException.class, () -> bookingService.create(bookerId, bookingDto));
+    }
+
     @Test
     public void create_whenStartEndAreValid_ItemDoesNotExist_thenThrowsObjectNotFound_doesNotInvokeAnyMore() {
 
@@ -158,7 +311,7 @@ public class BookingServiceImplTest {
                 .build();
 
         //mock repository answers
-        when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.empty());
 
         //invoke tested method to check throws
         assertThrows(ObjectNotFoundException.class,
@@ -166,7 +319,7 @@ public class BookingServiceImplTest {
                 String.format("Вещи с id %d не существует", itemId));
 
         //verify repositories' invokes
-        verify(itemRepository).findById(itemId);
+        verify(itemRepository).findByIdForUpdate(itemId);
         verifyNoInteractions(userRepository, bookingRepository);
     }
 
@@ -184,7 +337,7 @@ public class BookingServiceImplTest {
                 .build();
 
         //mock repository answers
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
 
         // create input BookingDto with valid start and end fields to save
         LocalDateTime start = LocalDateTime.of(2030, 1, 1, 1, 1, 1);
@@ -202,7 +355,7 @@ public class BookingServiceImplTest {
                 "В настоящий момент вещь недоступна для бронирования.");
 
         //verify repositories' invokes
-        verify(itemRepository).findById(itemId);
+        verify(itemRepository).findByIdForUpdate(itemId);
         verifyNoInteractions(userRepository, bookingRepository);
 
     }
@@ -221,7 +374,7 @@ public class BookingServiceImplTest {
                 .build();
 
         //mock repository answers
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
         when(userRepository.findById(bookerId)).thenReturn(Optional.empty());
 
         // create input BookingDto with valid start and end fields to save
@@ -240,7 +393,7 @@ public class BookingServiceImplTest {
                 String.format("Пользователя с id %d не существует", bookerId));
 
         //verify repositories' invokes
-        verify(itemRepository).findById(itemId);
+        verify(itemRepository).findByIdForUpdate(itemId);
         verify(userRepository).findById(bookerId);
         verifyNoInteractions(bookingRepository);
 
@@ -266,7 +419,7 @@ public class BookingServiceImplTest {
                 .build();
 
         //mock repository answers
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
         when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
 
         // create input BookingDto with valid start and end fields to save
@@ -286,7 +439,7 @@ public class BookingServiceImplTest {
                         + "владелец не может забронировать свою вещь.");
 
         //verify repositories' invokes
-        verify(itemRepository).findById(itemId);
+        verify(itemRepository).findByIdForUpdate(itemId);
         verify(userRepository).findById(ownerId);
         verifyNoInteractions(bookingRepository);
 
@@ -547,7 +700,7 @@ public class BookingServiceImplTest {
         BookingResponseDto expectedBooking = BookingMapper.toBookingResponseDto(approvedBooking);
 
         //mock repository answers
-        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
 
         //invoke tested method
@@ -555,8 +708,8 @@ public class BookingServiceImplTest {
 
         //verify repositories' invokes and their order
 
-        InOrder inOrder = inOrder(userRepository, bookingRepository);
-        inOrder.verify(userRepository).existsById(ownerId);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, bookingRepository);
+        inOrder.verify(userExistenceCache).exists(ownerId);
         inOrder.verify(bookingRepository).findById(bookingId);
         inOrder.verify(bookingRepository).save(approvedBooking);
 
@@ -633,7 +786,7 @@ public class BookingServiceImplTest {
         BookingResponseDto expectedBooking = BookingMapper.toBookingResponseDto(rejectedBooking);
 
         //mock repository answers
-        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
 
         //invoke tested method
@@ -641,8 +794,8 @@ public class BookingServiceImplTest {
 
         //verify repositories' invokes and their order
 
-        InOrder inOrder = inOrder(userRepository, bookingRepository);
-        inOrder.verify(userRepository).existsById(ownerId);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, bookingRepository);
+        inOrder.verify(userExistenceCache).exists(ownerId);
         inOrder.verify(bookingRepository).findById(bookingId);
         inOrder.verify(bookingRepository).save(rejectedBooking);
 
@@ -680,7 +833,7 @@ public class BookingServiceImplTest {
         Boolean approved = false;
 
         //mock repository answers
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userExistenceCache.exists(userId)).thenReturn(false);
 
         //invoke tested method to check throws
         assertThrows(ObjectNotFoundException.class,
@@ -689,7 +842,7 @@ public class BookingServiceImplTest {
 
 
         //verify repositories' invokes and their order
-        verify(userRepository).existsById(userId);
+        verify(userExistenceCache).exists(userId);
         verifyNoInteractions(bookingRepository);
 
     }
@@ -707,7 +860,7 @@ public class BookingServiceImplTest {
         Boolean approved = false;
 
         //mock repository answers
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userExistenceCache.exists(userId)).thenReturn(true);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.empty());
 
         //invoke tested method to check throws
@@ -716,7 +869,7 @@ public class BookingServiceImplTest {
                 String.format("Бронирования с id %d не существует", bookingId));
 
         //verify repositories' invokes
-        verify(userRepository).existsById(userId);
+        verify(userExistenceCache).exists(userId);
         verify(bookingRepository).findById(bookingId);
         verifyNoMoreInteractions(bookingRepository);
     }
@@ -755,7 +908,7 @@ public class BookingServiceImplTest {
         Boolean approved = true;
 
         //mock repository answers
-        when(userRepository.existsById(bookerId)).thenReturn(true);
+        when(userExistenceCache.exists(bookerId)).thenReturn(true);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of((booking)));
 
         //invoke tested method to check throws
@@ -764,7 +917,7 @@ public class BookingServiceImplTest {
                 String.format("Операция доступна только владельцу вещи %s :", item));
 
         //verify repositories' invokes
-        verify(userRepository).existsById(bookerId);
+        verify(userExistenceCache).exists(bookerId);
         verify(bookingRepository).findById(bookingId);
         verifyNoMoreInteractions(bookingRepository);
     }
@@ -803,7 +956,7 @@ public class BookingServiceImplTest {
         Boolean approved = false;
 
         //mock repository answers
-        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of((booking)));
 
         //invoke tested method to check throws
@@ -812,7 +965,7 @@ public class BookingServiceImplTest {
                 String.format("Вы не можете изменить ранее подтвержденный статус %s", booking.getStatus()));
 
         //verify repositories' invokes
-        verify(userRepository).existsById(ownerId);
+        verify(userExistenceCache).exists(ownerId);
         verify(bookingRepository).findById(bookingId);
         verifyNoMoreInteractions(bookingRepository);
     }
@@ -848,16 +1001,16 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> expectedList = BookingMapper.toBookingResponseDtoList(bookings);
 
         //mock repository answer
-        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(bookingRepository.findAllByItem_Owner_Id(ownerId, page)).thenReturn(bookings);
 
         //invoke tested method
         List<BookingResponseDto> result = bookingService.getListByOwner(ownerId, state, from, size);
 
         //verify repositories' invokes and their order
-        InOrder inOrder = inOrder(userRepository, bookingRepository);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, bookingRepository);
 
-        inOrder.verify(userRepository).existsById(ownerId);
+        inOrder.verify(userExistenceCache).exists(ownerId);
         inOrder.verify(bookingRepository).findAllByItem_Owner_Id(ownerId, page);
 
         //check result
@@ -908,7 +1061,7 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> expectedList = BookingMapper.toBookingResponseDtoList(bookings);
 
         //mock repository answer
-        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(bookingRepository.findAllByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(eq(ownerId),
                 any(), any(), eq(page))).thenReturn(bookings);
 
@@ -916,9 +1069,9 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> result = bookingService.getListByOwner(ownerId, state, from, size);
 
         //verify repositories' invokes and their order
-        InOrder inOrder = inOrder(userRepository, bookingRepository);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, bookingRepository);
 
-        inOrder.verify(userRepository).existsById(ownerId);
+        inOrder.verify(userExistenceCache).exists(ownerId);
         inOrder.verify(bookingRepository).findAllByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(
                 eq(ownerId), any(), any(), eq(page));
         //check result
@@ -969,7 +1122,7 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> expectedList = BookingMapper.toBookingResponseDtoList(bookings);
 
         //mock repository answer
-        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(bookingRepository.findAllByItem_Owner_IdAndEndIsBefore(eq(ownerId),
                 any(), eq(page))).thenReturn(bookings);
 
@@ -977,9 +1130,9 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> result = bookingService.getListByOwner(ownerId, state, from, size);
 
         //verify repositories' invokes and their order
-        InOrder inOrder = inOrder(userRepository, bookingRepository);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, bookingRepository);
 
-        inOrder.verify(userRepository).existsById(ownerId);
+        inOrder.verify(userExistenceCache).exists(ownerId);
         inOrder.verify(bookingRepository).findAllByItem_Owner_IdAndEndIsBefore(
                 eq(ownerId), any(), eq(page));
         //check result
@@ -1030,7 +1183,7 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> expectedList = BookingMapper.toBookingResponseDtoList(bookings);
 
         //mock repository answer
-        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(bookingRepository.findAllByItem_Owner_IdAndStartIsAfter(eq(ownerId),
                 any(), eq(page))).thenReturn(bookings);
 
@@ -1038,9 +1191,9 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> result = bookingService.getListByOwner(ownerId, state, from, size);
 
         //verify repositories' invokes and their order
-        InOrder inOrder = inOrder(userRepository, bookingRepository);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, bookingRepository);
 
-        inOrder.verify(userRepository).existsById(ownerId);
+        inOrder.verify(userExistenceCache).exists(ownerId);
         inOrder.verify(bookingRepository).findAllByItem_Owner_IdAndStartIsAfter(
                 eq(ownerId), any(), eq(page));
         //check result
@@ -1094,7 +1247,7 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> expectedList = BookingMapper.toBookingResponseDtoList(bookings);
 
         //mock repository answer
-        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(bookingRepository.findAllByItem_Owner_IdAndStatusIn(ownerId, notApprovedStatus, page))
                 .thenReturn(bookings);
 
@@ -1102,9 +1255,9 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> result = bookingService.getListByOwner(ownerId, state, from, size);
 
         //verify repositories' invokes and their order
-        InOrder inOrder = inOrder(userRepository, bookingRepository);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, bookingRepository);
 
-        inOrder.verify(userRepository).existsById(ownerId);
+        inOrder.verify(userExistenceCache).exists(ownerId);
         inOrder.verify(bookingRepository)
                 .findAllByItem_Owner_IdAndStatusIn(ownerId, notApprovedStatus, page);
         //check result
@@ -1158,7 +1311,7 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> expectedList = BookingMapper.toBookingResponseDtoList(bookings);
 
         //mock repository answer
-        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(bookingRepository.findAllByItem_Owner_IdAndStatus(ownerId, status, page))
                 .thenReturn(bookings);
 
@@ -1166,9 +1319,9 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> result = bookingService.getListByOwner(ownerId, state, from, size);
 
         //verify repositories' invokes and their order
-        InOrder inOrder = inOrder(userRepository, bookingRepository);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, bookingRepository);
 
-        inOrder.verify(userRepository).existsById(ownerId);
+        inOrder.verify(userExistenceCache).exists(ownerId);
         inOrder.verify(bookingRepository)
                 .findAllByItem_Owner_IdAndStatus(ownerId, status, page);
         //check result
@@ -1202,7 +1355,7 @@ public class BookingServiceImplTest {
         int size = 10;
 
         //mock repository answer
-        when(userRepository.existsById(ownerId)).thenReturn(false);
+        when(userExistenceCache.exists(ownerId)).thenReturn(false);
 
         //invoke tested method to check throws
         assertThrows(ObjectNotFoundException.class,
@@ -1211,7 +1364,7 @@ public class BookingServiceImplTest {
 
         //verify repositories' invokes
 
-        verify(userRepository).existsById(ownerId);
+        verify(userExistenceCache).exists(ownerId);
         verifyNoInteractions(bookingRepository);
     }
 
@@ -1229,7 +1382,7 @@ public class BookingServiceImplTest {
         int size = 10;
 
         //mock repository answer
-        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
 
         //invoke tested method to check throws
         assertThrows(UnsupportedStatusException.class,
@@ -1237,7 +1390,7 @@ public class BookingServiceImplTest {
                 "Unknown state: UNSUPPORTED_STATUS");
 
         //verify repositories' invokes
-        verify(userRepository).existsById(ownerId);
+        verify(userExistenceCache).exists(ownerId);
         verifyNoInteractions(bookingRepository);
     }
 
@@ -1272,16 +1425,16 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> expectedList = BookingMapper.toBookingResponseDtoList(bookings);
 
         //mock repository answer
-        when(userRepository.existsById(bookerId)).thenReturn(true);
+        when(userExistenceCache.exists(bookerId)).thenReturn(true);
         when(bookingRepository.findAllByBookerId(bookerId, page)).thenReturn(bookings);
 
         //invoke tested method
         List<BookingResponseDto> result = bookingService.getListByBooker(bookerId, state, from, size);
 
         //verify repositories' invokes and their order
-        InOrder inOrder = inOrder(userRepository, bookingRepository);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, bookingRepository);
 
-        inOrder.verify(userRepository).existsById(bookerId);
+        inOrder.verify(userExistenceCache).exists(bookerId);
         inOrder.verify(bookingRepository).findAllByBookerId(bookerId, page);
 
         //check result
@@ -1332,7 +1485,7 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> expectedList = BookingMapper.toBookingResponseDtoList(bookings);
 
         //mock repository answer
-        when(userRepository.existsById(bookerId)).thenReturn(true);
+        when(userExistenceCache.exists(bookerId)).thenReturn(true);
         when(bookingRepository.findAllByBookerIdAndStartIsBeforeAndEndIsAfter(eq(bookerId),
                 any(), any(), eq(page))).thenReturn(bookings);
 
@@ -1340,9 +1493,9 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> result = bookingService.getListByBooker(bookerId, state, from, size);
 
         //verify repositories' invokes and their order
-        InOrder inOrder = inOrder(userRepository, bookingRepository);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, bookingRepository);
 
-        inOrder.verify(userRepository).existsById(bookerId);
+        inOrder.verify(userExistenceCache).exists(bookerId);
         inOrder.verify(bookingRepository).findAllByBookerIdAndStartIsBeforeAndEndIsAfter(
                 eq(bookerId), any(), any(), eq(page));
         //check result
@@ -1393,7 +1546,7 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> expectedList = BookingMapper.toBookingResponseDtoList(bookings);
 
         //mock repository answer
-        when(userRepository.existsById(bookerId)).thenReturn(true);
+        when(userExistenceCache.exists(bookerId)).thenReturn(true);
         when(bookingRepository.findAllByBookerIdAndEndIsBefore(eq(bookerId),
                 any(), eq(page))).thenReturn(bookings);
 
@@ -1401,9 +1554,9 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> result = bookingService.getListByBooker(bookerId, state, from, size);
 
         //verify repositories' invokes and their order
-        InOrder inOrder = inOrder(userRepository, bookingRepository);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, bookingRepository);
 
-        inOrder.verify(userRepository).existsById(bookerId);
+        inOrder.verify(userExistenceCache).exists(bookerId);
         inOrder.verify(bookingRepository).findAllByBookerIdAndEndIsBefore(
                 eq(bookerId), any(), eq(page));
         //check result
@@ -1454,7 +1607,7 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> expectedList = BookingMapper.toBookingResponseDtoList(bookings);
 
         //mock repository answer
-        when(userRepository.existsById(bookerId)).thenReturn(true);
+        when(userExistenceCache.exists(bookerId)).thenReturn(true);
         when(bookingRepository.findAllByBookerIdAndStartIsAfter(eq(bookerId),
                 any(), eq(page))).thenReturn(bookings);
 
@@ -1462,9 +1615,9 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> result = bookingService.getListByBooker(bookerId, state, from, size);
 
         //verify repositories' invokes and their order
-        InOrder inOrder = inOrder(userRepository, bookingRepository);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, bookingRepository);
 
-        inOrder.verify(userRepository).existsById(bookerId);
+        inOrder.verify(userExistenceCache).exists(bookerId);
         inOrder.verify(bookingRepository).findAllByBookerIdAndStartIsAfter(
                 eq(bookerId), any(), eq(page));
         //check result
@@ -1518,7 +1671,7 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> expectedList = BookingMapper.toBookingResponseDtoList(bookings);
 
         //mock repository answer
-        when(userRepository.existsById(bookerId)).thenReturn(true);
+        when(userExistenceCache.exists(bookerId)).thenReturn(true);
         when(bookingRepository.findAllByBookerIdAndStatusIn(bookerId, notApprovedStatus, page))
                 .thenReturn(bookings);
 
@@ -1526,9 +1679,9 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> result = bookingService.getListByBooker(bookerId, state, from, size);
 
         //verify repositories' invokes and their order
-        InOrder inOrder = inOrder(userRepository, bookingRepository);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, bookingRepository);
 
-        inOrder.verify(userRepository).existsById(bookerId);
+        inOrder.verify(userExistenceCache).exists(bookerId);
         inOrder.verify(bookingRepository)
                 .findAllByBookerIdAndStatusIn(bookerId, notApprovedStatus, page);
         //check result
@@ -1582,7 +1735,7 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> expectedList = BookingMapper.toBookingResponseDtoList(bookings);
 
         //mock repository answer
-        when(userRepository.existsById(bookerId)).thenReturn(true);
+        when(userExistenceCache.exists(bookerId)).thenReturn(true);
         when(bookingRepository.findAllByBookerIdAndStatus(bookerId, status, page))
                 .thenReturn(bookings);
 
@@ -1590,9 +1743,9 @@ public class BookingServiceImplTest {
         List<BookingResponseDto> result = bookingService.getListByBooker(bookerId, state, from, size);
 
         //verify repositories' invokes and their order
-        InOrder inOrder = inOrder(userRepository, bookingRepository);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, bookingRepository);
 
-        inOrder.verify(userRepository).existsById(bookerId);
+        inOrder.verify(userExistenceCache).exists(bookerId);
         inOrder.verify(bookingRepository)
                 .findAllByBookerIdAndStatus(bookerId, status, page);
         //check result
@@ -1626,7 +1779,7 @@ public class BookingServiceImplTest {
         int size = 10;
 
         //mock repository answer
-        when(userRepository.existsById(bookerId)).thenReturn(false);
+        when(userExistenceCache.exists(bookerId)).thenReturn(false);
 
         //invoke tested method to check throws
         assertThrows(ObjectNotFoundException.class,
@@ -1635,7 +1788,7 @@ public class BookingServiceImplTest {
 
         //verify repositories' invokes
 
-        verify(userRepository).existsById(bookerId);
+        verify(userExistenceCache).exists(bookerId);
         verifyNoInteractions(bookingRepository);
     }
 
@@ -1653,7 +1806,7 @@ public class BookingServiceImplTest {
         int size = 10;
 
         //mock repository answer
-        when(userRepository.existsById(bookerId)).thenReturn(true);
+        when(userExistenceCache.exists(bookerId)).thenReturn(true);
 
         //invoke tested method to check throws
         assertThrows(UnsupportedStatusException.class,
@@ -1661,7 +1814,82 @@ public class BookingServiceImplTest {
                 "Unknown state: UNSUPPORTED_STATUS");
 
         //verify repositories' invokes
-        verify(userRepository).existsById(bookerId);
+        verify(userExistenceCache).exists(bookerId);
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    public void getListByOwnerAfterCursor_whenCursorIsBlank_invokeFirstPageWithKeysetSort() {
+        Long ownerId = 1L;
+        int size = 2;
+        Pageable page = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "start")
+                .and(Sort.by(Sort.Direction.DESC, "id")));
+        Booking booking = Booking.builder()
+                .id(1L)
+                .status(BookingStatus.APPROVED)
+                .build();
+
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
+        when(bookingRepository.findAllByItem_Owner_Id(ownerId, page)).thenReturn(List.of(booking));
+
+        List<BookingResponseDto> result = bookingService.getListByOwnerAfterCursor(ownerId, "ALL", "", size);
+
+        verify(bookingRepository).findAllByItem_Owner_Id(ownerId, page);
+        assertEquals(List.of(BookingMapper.toBookingResponseDto(booking)), result);
+    }
+
+    @Test
+    public void getListByOwnerAfterCursor_whenCursorIsValid_invokeKeysetMethod() {
+        Long ownerId = 1L;
+        int size = 2;
+        LocalDateTime cursorStart = LocalDateTime.of(2024, 1, 1, 1, 1, 1);
+        Long cursorId = 5L;
+        String cursor = BookingCursor.encode(cursorStart, cursorId);
+        Booking booking = Booking.builder()
+                .id(4L)
+                .status(BookingStatus.WAITING)
+                .build();
+
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
+        when(bookingRepository.findAllByOwnerIdAndStatusAfterCursor(ownerId, cursorStart, cursorId,
+                BookingStatus.WAITING, PageRequest.of(0, size))).thenReturn(List.of(booking));
+
+        List<BookingResponseDto> result = bookingService.getListByOwnerAfterCursor(ownerId, "WAITING", cursor, size);
+
+        verify(bookingRepository).findAllByOwnerIdAndStatusAfterCursor(ownerId, cursorStart, cursorId,
+                BookingStatus.WAITING, PageRequest.of(0, size));
+        verifyNoMoreInteractions(bookingRepository);
+        assertEquals(List.of(BookingMapper.toBookingResponseDto(booking)), result);
+    }
+
+    @Test
+    public void getListByBookerAfterCursor_whenCursorIsValid_invokeKeysetMethod() {
+        Long bookerId = 2L;
+        int size = 3;
+        LocalDateTime cursorStart = LocalDateTime.of(2024, 1, 1, 1, 1, 1);
+        Long cursorId = 7L;
+        String cursor = BookingCursor.encode(cursorStart, cursorId);
+
+        when(userExistenceCache.exists(bookerId)).thenReturn(true);
+        when(bookingRepository.findPastByBookerIdAfterCursor(eq(bookerId), eq(cursorStart), eq(cursorId),
+                any(LocalDateTime.class), eq(PageRequest.of(0, size)))).thenReturn(List.of());
+
+        List<BookingResponseDto> result = bookingService.getListByBookerAfterCursor(bookerId, "PAST", cursor, size);
+
+        verify(bookingRepository).findPastByBookerIdAfterCursor(eq(bookerId), eq(cursorStart), eq(cursorId),
+                any(LocalDateTime.class), eq(PageRequest.of(0, size)));
+        assertEquals(List.of(), result);
+    }
+
+    @Test
+    public void getListByBookerAfterCursor_whenCursorIsInvalid_throwInvalidCursorException() {
+        Long bookerId = 2L;
+
+        when(userExistenceCache.exists(bookerId)).thenReturn(true);
+
+        assertThrows(InvalidCursorException.class,
+                () -> bookingService.getListByBookerAfterCursor(bookerId, "ALL", "not-a-cursor", 10));
+
         verifyNoInteractions(bookingRepository);
     }
 }
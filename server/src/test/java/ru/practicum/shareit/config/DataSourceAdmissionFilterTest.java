@@ -0,0 +1,94 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataSourceAdmissionFilterTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void doFilter_whenPermitReleased_passNextRequestToChain() throws Exception {
+        DataSourceAdmissionFilter filter = new DataSourceAdmissionFilter(1, Duration.ofMillis(10), objectMapper);
+        MockFilterChain firstChain = new MockFilterChain();
+        MockFilterChain secondChain = new MockFilterChain();
+        MockHttpServletResponse secondResponse = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/items"), new MockHttpServletResponse(), firstChain);
+        filter.doFilter(new MockHttpServletRequest("GET", "/items"), secondResponse, secondChain);
+
+        assertNotNull(firstChain.getRequest());
+        assertNotNull(secondChain.getRequest());
+        assertEquals(HttpStatus.OK.value(), secondResponse.getStatus());
+    }
+
+    @Test
+    void doFilter_whenAllPermitsHeld_returnServiceUnavailable() throws Exception {
+        DataSourceAdmissionFilter filter = new DataSourceAdmissionFilter(1, Duration.ofMillis(50), objectMapper);
+        CountDownLatch insideChain = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        HttpServlet blockingServlet = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                insideChain.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = executor.submit(() -> {
+                filter.doFilter(new MockHttpServletRequest("GET", "/items"), new MockHttpServletResponse(),
+                        new MockFilterChain(blockingServlet));
+                return null;
+            });
+            assertTrue(insideChain.await(5, TimeUnit.SECONDS));
+
+            MockHttpServletResponse rejected = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/items"), rejected, new MockFilterChain());
+
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), rejected.getStatus());
+            assertTrue(rejected.getContentAsString().contains("error"));
+
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void doFilter_whenNoPermitsLeft_stillPassActuatorRequests() throws Exception {
+        DataSourceAdmissionFilter filter = new DataSourceAdmissionFilter(0, Duration.ofMillis(10), objectMapper);
+        MockFilterChain actuatorChain = new MockFilterChain();
+        MockHttpServletResponse actuatorResponse = new MockHttpServletResponse();
+        MockHttpServletResponse itemsResponse = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), actuatorResponse, actuatorChain);
+        filter.doFilter(new MockHttpServletRequest("GET", "/items"), itemsResponse, new MockFilterChain());
+
+        assertNotNull(actuatorChain.getRequest());
+        assertEquals(HttpStatus.OK.value(), actuatorResponse.getStatus());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), itemsResponse.getStatus());
+    }
+}
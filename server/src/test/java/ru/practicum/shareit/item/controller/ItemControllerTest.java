@@ -10,21 +10,26 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.ItemController;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -218,7 +223,7 @@ public class ItemControllerTest {
         String expectedItemsListString = objectMapper.writeValueAsString(items);
 
         //mock service answer
-        when(itemService.getListByUser(userId)).thenReturn(items);
+        when(itemService.getListByUser(userId, 0, 10, null)).thenReturn(items);
 
         //perform request and check status and content
         String result = mockMvc.perform(get("/items")
@@ -233,12 +238,29 @@ public class ItemControllerTest {
                 .getContentAsString();
 
         // verify invokes
-        verify(itemService).getListByUser(userId);
+        verify(itemService).getListByUser(userId, 0, 10, null);
 
         //check result
         assertEquals(result, expectedItemsListString);
     }
 
+    @Test
+    @SneakyThrows
+    public void getListByUser_withPagingParameters_isStatusOk_andPassParametersToService() {
+
+        when(itemService.getListByUser(userId, 20, 5, 7L)).thenReturn(List.of());
+
+        mockMvc.perform(get("/items")
+                .header(header, userId)
+                .param("from", "20")
+                .param("size", "5")
+                .param("afterId", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        verify(itemService).getListByUser(userId, 20, 5, 7L);
+    }
+
     @Test
     @SneakyThrows
     public void searchItemsBySubstring_isStatusOk_andInvokeService() {
@@ -271,7 +293,7 @@ public class ItemControllerTest {
         String itemsString = objectMapper.writeValueAsString(items);
 
         //mock service answer
-        when(itemService.searchItemsBySubstring(parameterValue)).thenReturn(items);
+        when(itemService.searchItemsBySubstring(parameterValue, 0, 10, null)).thenReturn(items);
 
         //perform request and check status and content
         String result = mockMvc.perform(get("/items/search")
@@ -284,7 +306,7 @@ public class ItemControllerTest {
                 .getContentAsString();
 
         // verify invokes
-        verify(itemService).searchItemsBySubstring(parameterValue);
+        verify(itemService).searchItemsBySubstring(parameterValue, 0, 10, null);
 
         //check result
         assertEquals(result, itemsString);
@@ -321,7 +343,7 @@ public class ItemControllerTest {
         List<ItemResponseDto> items = list.stream().map(ItemMapper::toItemResponseDto).collect(Collectors.toList());
 
         //mock service answer
-        when(itemService.searchItemsBySubstring(parameterValue)).thenReturn(items);
+        when(itemService.searchItemsBySubstring(parameterValue, 0, 10, null)).thenReturn(items);
 
         //perform request and check status
         mockMvc.perform(get("/items/search")
@@ -329,7 +351,7 @@ public class ItemControllerTest {
                 .andExpect(status().isInternalServerError());
 
         // verify invokes
-        verify(itemService, never()).searchItemsBySubstring(anyString());
+        verify(itemService, never()).searchItemsBySubstring(anyString(), any(), any(), any());
     }
 
     @Test
@@ -371,4 +393,36 @@ public class ItemControllerTest {
         assertEquals(result, expectedCommentString);
     }
 
+    @Test
+    @SneakyThrows
+    public void getAvailability_statusIsOk_andPassPeriodToService() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 9, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 1, 18, 0);
+        ItemAvailabilityDto availability = ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .busy(List.of(AvailabilityIntervalDto.builder()
+                        .start(from).end(from.plusHours(1)).status(BookingStatus.WAITING).build()))
+                .free(List.of(AvailabilityIntervalDto.builder().start(from.plusHours(1)).end(to).build()))
+                .build();
+
+        //mock service answer
+        when(itemService.getAvailability(userId, itemId, from, to)).thenReturn(availability);
+
+        //perform request and check status and content
+        mockMvc.perform(get("/items/{itemId}/availability", itemId)
+                        .header(header, userId)
+                        .param("from", "2030-01-01T09:00:00")
+                        .param("to", "2030-01-01T18:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.busy", hasSize(1)))
+                .andExpect(jsonPath("$.busy[0].start", is("2030-01-01T09:00:00")))
+                .andExpect(jsonPath("$.busy[0].status", is("WAITING")))
+                .andExpect(jsonPath("$.free[0].end", is("2030-01-01T18:00:00")));
+
+        // verify invokes
+        verify(itemService).getAvailability(userId, itemId, from, to);
+    }
+
 }
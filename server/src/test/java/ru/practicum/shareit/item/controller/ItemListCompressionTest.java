@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserJpaRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * GET /items для владельца 5000 вещей сжимается gzip, если клиент его принимает, и распаковывается в тот же JSON.
+ * Размер и задержка ответа измеряются в benchmarks (ItemListCompressionBenchmark).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:item-list-compression")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class ItemListCompressionTest {
+    private static final int ITEMS = 5_000;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private UserJpaRepository userRepository;
+    @Autowired
+    private ItemJpaRepository itemRepository;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private Long ownerId;
+
+    @BeforeEach
+    public void beforeEach() {
+        User owner = userRepository.save(User.builder().name("Owner").email("Owner" + System.nanoTime() + "@yandex.ru")
+                .build());
+        ownerId = owner.getId();
+        List<Item> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(Item.builder()
+                    .name("item" + i)
+                    .description("description" + i)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+        }
+        itemRepository.saveAll(items);
+    }
+
+    @Test
+    public void getListByUser_whenGzipAccepted_compressResponse() throws Exception {
+        HttpResponse<byte[]> identity = getListByUser(null);
+        HttpResponse<byte[]> gzip = getListByUser("gzip, deflate");
+
+        assertFalse(identity.headers().firstValue("Content-Encoding").isPresent());
+        assertEquals("gzip", gzip.headers().firstValue("Content-Encoding").orElse(null));
+        assertArrayEquals(identity.body(), gunzip(gzip.body()));
+        assertTrue(gzip.body().length * 5 < identity.body().length);
+    }
+
+    private HttpResponse<byte[]> getListByUser(String acceptEncoding) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/items?from=0&size=" + ITEMS))
+                .header("X-Sharer-User-Id", String.valueOf(ownerId))
+                .GET();
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, response.statusCode());
+        return response;
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -12,6 +13,7 @@ import ru.practicum.shareit.user.repository.UserJpaRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
@@ -89,25 +91,33 @@ public class CommentRepositoryTest {
     @Test
     public void findAllByItemId() {
 
-        List<Comment> result = commentRepository.findAllByItemId(item1Id);
+        List<CommentResponseDto> result = commentRepository.findAllByItemId(item1Id);
 
-        assertThat(result).asList()
+        assertThat(toIds(result)).asList()
                 .hasSize(2)
-                .contains(comment1ToItem1)
-                .contains(comment2ToItem1)
-                .doesNotContain(comment1ToItem2);
+                .contains(comment1ToItem1.getId())
+                .contains(comment2ToItem1.getId())
+                .doesNotContain(comment1ToItem2.getId());
+        assertThat(result.get(0))
+                .hasFieldOrPropertyWithValue("authorName", "Alex")
+                .hasFieldOrPropertyWithValue("itemId", item1Id);
     }
 
     @Test
-    public void findAllByItemIn() {
+    public void findAllByItemIdIn() {
 
-        List<Item> items = List.of(item1, item2);
-        List<Comment> result = commentRepository.findAllByItemIn(items);
+        List<CommentResponseDto> result = commentRepository.findAllByItemIdIn(List.of(item1Id, item2.getId()));
 
-        assertThat(result).asList()
+        assertThat(toIds(result)).asList()
                 .hasSize(3)
-                .contains(comment1ToItem1)
-                .contains(comment2ToItem1)
-                .contains(comment1ToItem2);
+                .contains(comment1ToItem1.getId())
+                .contains(comment2ToItem1.getId())
+                .contains(comment1ToItem2.getId());
     }
-}
\ No newline at end of file
+
+    private List<Long> toIds(List<CommentResponseDto> comments) {
+        return comments.stream()
+                .map(CommentResponseDto::getId)
+                .collect(Collectors.toList());
+    }
+}
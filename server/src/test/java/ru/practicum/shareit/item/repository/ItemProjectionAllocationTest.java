@@ -0,0 +1,108 @@
+package ru.practicum.shareit.item.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserJpaRepository;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=false")
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class ItemProjectionAllocationTest {
+    private static final int PAGE_SIZE = 50;
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int MEASURED_ITERATIONS = 50;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+    @Autowired
+    private ItemJpaRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnlyTransaction;
+    private Long ownerId;
+
+    @BeforeEach
+    public void beforeEach() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        User owner = userRepository.save(User.builder().name("Owner").email("Owner@yandex.ru").build());
+        User requester = userRepository.save(User.builder().name("Alex").email("Alex@yandex.ru").build());
+        ownerId = owner.getId();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                    .description("request" + i)
+                    .requester(requester)
+                    .created(LocalDateTime.now())
+                    .build());
+            itemRepository.save(Item.builder()
+                    .name("item" + i)
+                    .description("description" + i)
+                    .available(true)
+                    .owner(owner)
+                    .request(request)
+                    .build());
+        }
+    }
+
+    @Test
+    public void findAllByOwnerIdOrderById_allocatesLessThanEntityHydration() {
+        PageRequest page = PageRequest.of(0, PAGE_SIZE, Sort.by("id"));
+        Supplier<List<ItemDto>> entityPath = () -> itemRepository.findAll(page).stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+        Supplier<List<ItemDto>> projectionPath = () -> itemRepository
+                .findAllByOwnerIdOrderById(ownerId, PageRequest.of(0, PAGE_SIZE));
+
+        assertEquals(entityPath.get(), projectionPath.get());
+
+        long entityBytes = measureAllocatedBytesPerRequest(entityPath);
+        long projectionBytes = measureAllocatedBytesPerRequest(projectionPath);
+        log.info("Allocated per request of {} items: entity --> {} bytes, projection --> {} bytes",
+                PAGE_SIZE, entityBytes, projectionBytes);
+
+        assertTrue(projectionBytes < entityBytes);
+    }
+
+    private long measureAllocatedBytesPerRequest(Supplier<List<ItemDto>> request) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            readOnlyTransaction.execute(status -> request.get());
+        }
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            readOnlyTransaction.execute(status -> request.get());
+        }
+        return (threadBean.getThreadAllocatedBytes(threadId) - before) / MEASURED_ITERATIONS;
+    }
+}
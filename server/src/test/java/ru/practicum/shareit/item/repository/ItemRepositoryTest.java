@@ -4,7 +4,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -85,67 +88,97 @@ public class ItemRepositoryTest {
     @Test
     public void findAllByOwnerId() {
 
-        List<Item> result = itemRepository.findAllByOwnerIdOrderById(ownerId);
+        List<ItemDto> result = itemRepository.findAllByOwnerIdOrderById(ownerId, PageRequest.of(0, 10));
 
         assertThat(result).asList()
                 .hasSize(2)
-                .contains(item1)
-                .contains(item2);
+                .contains(ItemMapper.toItemDto(item1))
+                .contains(ItemMapper.toItemDto(item2));
     }
 
     @Test
     public void searchItemsBySubstring() {
 
-        List<Item> resultTwoItems = itemRepository.searchItemsBySubstring("e");
+        List<ItemDto> resultTwoItems = itemRepository.searchItemsBySubstring("e", PageRequest.of(0, 10));
 
         assertThat(resultTwoItems).asList()
                 .hasSize(2)
-                .contains(item1)
-                .contains(item2);
+                .contains(ItemMapper.toItemDto(item1))
+                .contains(ItemMapper.toItemDto(item2));
 
-        List<Item> resultOneItem = itemRepository.searchItemsBySubstring("prAm");
+        List<ItemDto> resultOneItem = itemRepository.searchItemsBySubstring("prAm", PageRequest.of(0, 10));
 
         assertThat(resultOneItem).asList()
                 .hasSize(1)
-                .doesNotContain(item1)
-                .contains(item2);
+                .doesNotContain(ItemMapper.toItemDto(item1))
+                .contains(ItemMapper.toItemDto(item2));
 
-        List<Item> resultNoItem = itemRepository.searchItemsBySubstring("willow");
+        List<ItemDto> resultNoItem = itemRepository.searchItemsBySubstring("willow", PageRequest.of(0, 10));
         assertThat(resultNoItem).asList()
                 .isEmpty();
     }
 
+    @Test
+    public void findAllByOwnerId_withPageOfOneItem_returnOnlyRequestedPage() {
+
+        List<ItemDto> firstPage = itemRepository.findAllByOwnerIdOrderById(ownerId, PageRequest.of(0, 1));
+        List<ItemDto> secondPage = itemRepository.findAllByOwnerIdOrderById(ownerId, PageRequest.of(1, 1));
+
+        assertThat(firstPage).asList()
+                .containsExactly(ItemMapper.toItemDto(item1));
+        assertThat(secondPage).asList()
+                .containsExactly(ItemMapper.toItemDto(item2));
+    }
+
+    @Test
+    public void findAllByOwnerIdAndIdIsGreaterThan_returnItemsAfterCursor() {
+
+        List<ItemDto> result = itemRepository.findAllByOwnerIdAndIdIsGreaterThanOrderById(ownerId, item1.getId(),
+                PageRequest.of(0, 10));
+
+        assertThat(result).asList()
+                .containsExactly(ItemMapper.toItemDto(item2));
+    }
+
+    @Test
+    public void searchItemsBySubstringAfterId_returnItemsAfterCursor() {
+
+        List<ItemDto> result = itemRepository.searchItemsBySubstringAfterId("e", item1.getId(),
+                PageRequest.of(0, 10));
+
+        assertThat(result).asList()
+                .containsExactly(ItemMapper.toItemDto(item2));
+    }
+
     @Test
     public void findAllByRequestId() {
 
 
-        List<Item> result2 = itemRepository.findAllByRequestId(item2RequestId);
+        List<ItemDto> result2 = itemRepository.findAllByRequestId(item2RequestId);
 
         assertThat(result2).asList()
                 .hasSize(1)
-                .contains(item2)
-                .doesNotContain(item1);
+                .contains(ItemMapper.toItemDto(item2))
+                .doesNotContain(ItemMapper.toItemDto(item1));
 
-        List<Item> result = itemRepository.findAllByRequestId(item1RequestId);
+        List<ItemDto> result = itemRepository.findAllByRequestId(item1RequestId);
 
         assertThat(result).asList()
                 .hasSize(1)
-                .contains(item1)
-                .doesNotContain(item2);
+                .contains(ItemMapper.toItemDto(item1))
+                .doesNotContain(ItemMapper.toItemDto(item2));
 
 
     }
 
     @Test
-    public void findAllByRequestIn() {
-
-        List<ItemRequest> itemRequests = List.of(item1Request, item2Request);
+    public void findAllByRequestIdIn() {
 
-        List<Item> result = itemRepository.findAllByRequestIn(itemRequests);
+        List<ItemDto> result = itemRepository.findAllByRequestIdIn(List.of(item1RequestId, item2RequestId));
 
         assertThat(result).asList()
                 .hasSize(2)
-                .contains(item1)
-                .contains(item2);
+                .contains(ItemMapper.toItemDto(item1))
+                .contains(ItemMapper.toItemDto(item2));
     }
 }
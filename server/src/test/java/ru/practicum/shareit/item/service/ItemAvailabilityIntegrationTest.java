@@ -0,0 +1,115 @@
+package ru.practicum.shareit.item.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.exceptions.DateTimeException;
+import ru.practicum.shareit.util.exceptions.ObjectNotFoundException;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ItemAvailabilityIntegrationTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long ownerId;
+    private Long bookerId;
+    private Long itemId;
+
+    @BeforeEach
+    public void beforeEach() {
+        ownerId = userService.create(UserDto.builder().name("Owner").email("Owner@yandex.ru").build()).getId();
+        bookerId = userService.create(UserDto.builder().name("Booker").email("Booker@yandex.ru").build()).getId();
+        itemId = itemService.create(ownerId,
+                ItemDto.builder().name("bike").description("new").available(true).build()).getId();
+    }
+
+    @Test
+    public void getAvailability_returnBusyBookingsClippedToWindowAndFreeGapsBetween() {
+        book(8, 10);
+        Long approvedId = book(12, 14);
+        bookingService.updateStatus(approvedId, ownerId, true);
+
+        ItemAvailabilityDto availability = itemService.getAvailability(bookerId, itemId, hour(9), hour(18));
+
+        assertEquals(List.of(
+                        interval(9, 10, BookingStatus.WAITING),
+                        interval(12, 14, BookingStatus.APPROVED)),
+                availability.getBusy());
+        assertEquals(List.of(interval(10, 12, null), interval(14, 18, null)), availability.getFree());
+    }
+
+    @Test
+    public void getAvailability_whenBookingsChange_reflectThemWithoutQueryingBookings() {
+        itemService.getAvailability(bookerId, itemId, hour(0), hour(24));
+
+        Long rejectedId = book(8, 10);
+        book(12, 14);
+        bookingService.updateStatus(rejectedId, ownerId, false);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ItemAvailabilityDto availability = itemService.getAvailability(bookerId, itemId, hour(0), hour(24));
+
+        assertEquals(0, statistics.getQueryExecutionCount());
+        assertEquals(List.of(interval(12, 14, BookingStatus.WAITING)), availability.getBusy());
+        assertEquals(List.of(interval(0, 12, null), interval(14, 24, null)), availability.getFree());
+    }
+
+    @Test
+    public void getAvailability_whenItemNotFound_throwObjectNotFound() {
+        assertThrows(ObjectNotFoundException.class,
+                () -> itemService.getAvailability(bookerId, 999L, hour(0), hour(24)));
+    }
+
+    @Test
+    public void getAvailability_whenFromIsNotBeforeTo_throwDateTimeException() {
+        assertThrows(DateTimeException.class,
+                () -> itemService.getAvailability(bookerId, itemId, hour(10), hour(10)));
+    }
+
+    private Long book(int startHour, int endHour) {
+        return bookingService.create(bookerId, BookingRequestDto.builder()
+                .itemId(itemId)
+                .start(hour(startHour))
+                .end(hour(endHour))
+                .build()).getId();
+    }
+
+    private static AvailabilityIntervalDto interval(int startHour, int endHour, BookingStatus status) {
+        return AvailabilityIntervalDto.builder().start(hour(startHour)).end(hour(endHour)).status(status).build();
+    }
+
+    private static LocalDateTime hour(int hour) {
+        return DAY.plusHours(hour);
+    }
+}
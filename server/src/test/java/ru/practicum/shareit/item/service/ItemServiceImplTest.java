@@ -6,7 +6,9 @@ import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.dto.BookingItemResponseDto;
+import ru.practicum.shareit.booking.dto.ItemBookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -25,6 +27,7 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 import ru.practicum.shareit.util.exceptions.AccessIsNotAllowedException;
 import ru.practicum.shareit.util.exceptions.ObjectNotFoundException;
 import ru.practicum.shareit.util.exceptions.UnavailableItemException;
@@ -39,7 +42,6 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyLong;
-import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
@@ -55,6 +57,10 @@ public class ItemServiceImplTest {
     @Mock
     private UserJpaRepository userRepository;
     @Mock
+    private UserExistenceCache userExistenceCache;
+    @Mock
+    private ItemAvailabilityCache itemAvailabilityCache;
+    @Mock
     private ItemJpaRepository itemRepository;
     @Mock
     private BookingJpaRepository bookingRepository;
@@ -143,7 +149,7 @@ public class ItemServiceImplTest {
 
 
         // verify invokes and their order
-        InOrder inOrder = inOrder(userRepository, itemRequestRepository, itemRepository);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, itemRequestRepository, itemRepository);
         inOrder.verify(userRepository).findById(ownerId);
         inOrder.verify(itemRequestRepository).findById(requestId);
         inOrder.verify(itemRepository).save(item);
@@ -214,7 +220,7 @@ public class ItemServiceImplTest {
                 String.format("Запроса id %d не существует", requestId));
 
         // verify invokes
-        InOrder inOrder = inOrder(userRepository, itemRequestRepository);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, itemRequestRepository);
         inOrder.verify(userRepository).findById(ownerId);
         inOrder.verify(itemRequestRepository).findById(requestId);
 
@@ -280,7 +286,7 @@ public class ItemServiceImplTest {
 
         //mock repository answer
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(savedItem));
-        when(commentRepository.findAllByItemId(itemId)).thenReturn(comments);
+        when(commentRepository.findAllByItemId(itemId)).thenReturn(commentsOut);
 
         //invoke tested method check throws
         ItemResponseDto result = itemService.getById(notOwnerId, itemId);
@@ -385,7 +391,7 @@ public class ItemServiceImplTest {
                 eq(BookingStatus.APPROVED), any(), any())).thenReturn(Optional.of(nextBooking));
         when(bookingRepository.findFirstByItemIdAndStatusAndStartIsBeforeOrStartEqualsOrderByEndDesc(eq(itemId),
                 eq(BookingStatus.APPROVED), any(), any())).thenReturn(Optional.of(lastBooking));
-        when(commentRepository.findAllByItemId(itemId)).thenReturn(comments);
+        when(commentRepository.findAllByItemId(itemId)).thenReturn(commentsOut);
 
         //invoke tested method check throws
         ItemResponseDto result = itemService.getById(ownerId, itemId);
@@ -477,7 +483,7 @@ public class ItemServiceImplTest {
                 any(), any(), any())).thenReturn(Optional.empty());
         when(bookingRepository.findFirstByItemIdAndStatusAndStartIsBeforeOrStartEqualsOrderByEndDesc(anyLong(),
                 any(), any(), any())).thenReturn(Optional.empty());
-        when(commentRepository.findAllByItemId(itemId)).thenReturn(comments);
+        when(commentRepository.findAllByItemId(itemId)).thenReturn(commentsOut);
 
         //invoke tested method check throws
         ItemResponseDto result = itemService.getById(ownerId, itemId);
@@ -585,15 +591,15 @@ public class ItemServiceImplTest {
         ItemDto updatedItemDto = ItemMapper.toItemDto(updatedItem);
 
         //mock repository answer
-        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(savedItem));
 
         //invoke tested method
         ItemDto result = itemService.update(ownerId, updatedItemDto, itemId);
 
         // verify invokes
-        InOrder inOrder = inOrder(userRepository, itemRepository);
-        inOrder.verify(userRepository).existsById(ownerId);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, itemRepository);
+        inOrder.verify(userExistenceCache).exists(ownerId);
         inOrder.verify(itemRepository).findById(ownerId);
         inOrder.verify(itemRepository).save(updatedItem);
 
@@ -659,15 +665,15 @@ public class ItemServiceImplTest {
         ItemDto updatedItemDto = ItemMapper.toItemDto(updatedItem);
 
         //mock repository answer
-        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(savedItem));
 
         //invoke tested method
         ItemDto result = itemService.update(ownerId, updatedItemDto, itemId);
 
         // verify invokes
-        InOrder inOrder = inOrder(userRepository, itemRepository);
-        inOrder.verify(userRepository).existsById(ownerId);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, itemRepository);
+        inOrder.verify(userExistenceCache).exists(ownerId);
         inOrder.verify(itemRepository).findById(ownerId);
         inOrder.verify(itemRepository).save(updatedItem);
 
@@ -739,7 +745,7 @@ public class ItemServiceImplTest {
 
         ItemDto updatedItemDto = ItemMapper.toItemDto(updatedItem);
         //mock repository answer
-        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(savedItem));
         when(itemRepository.save(updatedItem)).thenReturn(updatedItem);
 
@@ -748,8 +754,8 @@ public class ItemServiceImplTest {
         ItemDto result = itemService.update(ownerId, itemDtoToUpdate, itemId);
 
         // verify invokes
-        InOrder inOrder = inOrder(userRepository, itemRepository);
-        inOrder.verify(userRepository).existsById(ownerId);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, itemRepository);
+        inOrder.verify(userExistenceCache).exists(ownerId);
         inOrder.verify(itemRepository).findById(ownerId);
         inOrder.verify(itemRepository).save(updatedItem);
         inOrder.verifyNoMoreInteractions();
@@ -821,15 +827,15 @@ public class ItemServiceImplTest {
         ItemDto updatedItemDto = ItemMapper.toItemDto(updatedItem);
 
         //mock repository answer
-        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(savedItem));
 
         //invoke tested method
         ItemDto result = itemService.update(ownerId, updatedItemDto, itemId);
 
         // verify invokes
-        InOrder inOrder = inOrder(userRepository, itemRepository);
-        inOrder.verify(userRepository).existsById(ownerId);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, itemRepository);
+        inOrder.verify(userExistenceCache).exists(ownerId);
         inOrder.verify(itemRepository).findById(ownerId);
         //  inOrder.verify(itemRepository).save(updatedItem);
 
@@ -903,15 +909,15 @@ public class ItemServiceImplTest {
 
 
         //mock repository answers
-        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(savedItem));
 
         //invoke tested method
         ItemDto result = itemService.update(ownerId, updatedItemDto, itemId);
 
         // verify invokes
-        InOrder inOrder = inOrder(userRepository, itemRepository);
-        inOrder.verify(userRepository).existsById(ownerId);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, itemRepository);
+        inOrder.verify(userExistenceCache).exists(ownerId);
         inOrder.verify(itemRepository).findById(ownerId);
         inOrder.verify(itemRepository).save(savedItem);
 
@@ -943,7 +949,7 @@ public class ItemServiceImplTest {
         Long itemId = 1L;
 
         //mock repository answers
-        when(userRepository.existsById(ownerId)).thenReturn(false);
+        when(userExistenceCache.exists(ownerId)).thenReturn(false);
 
         //invoke tested method to check throws
         assertThrows(ObjectNotFoundException.class,
@@ -951,7 +957,7 @@ public class ItemServiceImplTest {
                 String.format("Пользователя с id %d не существует", ownerId));
 
         // verify invokes
-        verify(userRepository).existsById(ownerId);
+        verify(userExistenceCache).exists(ownerId);
         verifyNoMoreInteractions(userRepository, itemRepository);
     }
 
@@ -972,7 +978,7 @@ public class ItemServiceImplTest {
                 .build();
 
         //mock repository answers
-        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
 
         //invoke tested method to check throws
@@ -981,7 +987,7 @@ public class ItemServiceImplTest {
                 String.format("Вещи id %d не существует", itemId));
 
         // verify invokes
-        verify(userRepository).existsById(ownerId);
+        verify(userExistenceCache).exists(ownerId);
         verify(itemRepository).findById(itemId);
         verifyNoMoreInteractions(userRepository, itemRepository);
 
@@ -1014,7 +1020,7 @@ public class ItemServiceImplTest {
                 .build();
 
         //mock repository answers
-        when(userRepository.existsById(notOwnerId)).thenReturn(true);
+        when(userExistenceCache.exists(notOwnerId)).thenReturn(true);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(savedItem));
 
         //invoke tested method to check throws
@@ -1023,7 +1029,7 @@ public class ItemServiceImplTest {
                 String.format("Операция доступна только владельцу вещи %s :", item));
 
         // verify invokes
-        verify(userRepository).existsById(notOwnerId);
+        verify(userExistenceCache).exists(notOwnerId);
         verify(itemRepository).findById(itemId);
         verifyNoMoreInteractions(userRepository, itemRepository);
 
@@ -1102,7 +1108,7 @@ public class ItemServiceImplTest {
         Item item2 = ItemMapper.toItem(itemDto2, owner, itemRequest)
                 .toBuilder().id(item2Id).build();
 
-        List<Item> items = List.of(item1, item2);
+        List<ItemDto> items = List.of(ItemMapper.toItemDto(item1), ItemMapper.toItemDto(item2));
 
         Long lastBookingId = 1L;
         Booking lastBooking = Booking.builder()
@@ -1141,22 +1147,30 @@ public class ItemServiceImplTest {
 
         List<ItemResponseDto> expectedItemsListByUser = List.of(itemOutDto1, itemOutDto2);
 
-        when(itemRepository.findAllByOwnerIdOrderById(ownerId)).thenReturn(items);
-        when(commentRepository.findAllByItemIn(items)).thenReturn(comments);
-        when(bookingRepository
-                .findFirstByItemIdAndStatusAndStartIsBeforeOrStartEqualsOrderByEndDesc(any(), any(), any(), any()))
-                .thenReturn(Optional.of(lastBooking));
-        when(bookingRepository
-                .findFirstByItemIdAndStatusAndStartIsAfterOrStartEqualsOrderByStart(any(), any(), any(), any()))
-                .thenReturn(Optional.of(nextBooking));
-
-        List<ItemResponseDto> result = itemService.getListByUser(ownerId);
-
-        verify(itemRepository).findAllByOwnerIdOrderById(ownerId);
-        verify(commentRepository).findAllByItemIn(items);
-        verify(bookingRepository, atLeast(1))
+        List<Long> itemIds = List.of(item1Id, item2Id);
+        List<ItemBookingDto> lastBookings = List.of(
+                new ItemBookingDto(item1Id, lastBookingId, notOwnerId),
+                new ItemBookingDto(item2Id, lastBookingId, notOwnerId));
+        List<ItemBookingDto> nextBookings = List.of(
+                new ItemBookingDto(item1Id, nextBookingId, notOwnerId),
+                new ItemBookingDto(item2Id, nextBookingId, notOwnerId));
+
+        when(itemRepository.findAllByOwnerIdOrderById(ownerId, PageRequest.of(0, 10))).thenReturn(items);
+        when(commentRepository.findAllByItemIdIn(itemIds)).thenReturn(commentsOut);
+        when(bookingRepository.findLastBookingsByItemIds(eq(itemIds), eq(BookingStatus.APPROVED), any()))
+                .thenReturn(lastBookings);
+        when(bookingRepository.findNextBookingsByItemIds(eq(itemIds), eq(BookingStatus.APPROVED), any()))
+                .thenReturn(nextBookings);
+
+        List<ItemResponseDto> result = itemService.getListByUser(ownerId, 0, 10, null);
+
+        verify(itemRepository).findAllByOwnerIdOrderById(ownerId, PageRequest.of(0, 10));
+        verify(commentRepository).findAllByItemIdIn(itemIds);
+        verify(bookingRepository).findLastBookingsByItemIds(eq(itemIds), eq(BookingStatus.APPROVED), any());
+        verify(bookingRepository).findNextBookingsByItemIds(eq(itemIds), eq(BookingStatus.APPROVED), any());
+        verify(bookingRepository, never())
                 .findFirstByItemIdAndStatusAndStartIsBeforeOrStartEqualsOrderByEndDesc(any(), any(), any(), any());
-        verify(bookingRepository, atLeast(1))
+        verify(bookingRepository, never())
                 .findFirstByItemIdAndStatusAndStartIsAfterOrStartEqualsOrderByStart(any(), any(), any(), any());
 
         assertEquals(result, expectedItemsListByUser);
@@ -1194,15 +1208,17 @@ public class ItemServiceImplTest {
         List<ItemResponseDto> listByUser = Collections.emptyList();
 
         //mock repository answers
-        when(itemRepository.findAllByOwnerIdOrderById(notOwnerId)).thenReturn(Collections.emptyList());
-        when(commentRepository.findAllByItemIn(Collections.emptyList())).thenReturn(Collections.emptyList());
+        when(itemRepository.findAllByOwnerIdOrderById(notOwnerId, PageRequest.of(0, 10)))
+                .thenReturn(Collections.emptyList());
 
         //invoke tested method
-        List<ItemResponseDto> result = itemService.getListByUser(notOwnerId);
+        List<ItemResponseDto> result = itemService.getListByUser(notOwnerId, 0, 10, null);
 
         // verify invokes
-        verify(itemRepository).findAllByOwnerIdOrderById(notOwnerId);
-        verify(commentRepository).findAllByItemIn(Collections.emptyList());
+        verify(itemRepository).findAllByOwnerIdOrderById(notOwnerId, PageRequest.of(0, 10));
+        verify(commentRepository, never()).findAllByItemIdIn(any());
+        verify(bookingRepository, never()).findLastBookingsByItemIds(any(), any(), any());
+        verify(bookingRepository, never()).findNextBookingsByItemIds(any(), any(), any());
         verify(bookingRepository, never())
                 .findFirstByItemIdAndStatusAndStartIsAfterOrStartEqualsOrderByStart(any(), any(), any(), any());
         verify(bookingRepository, never())
@@ -1260,7 +1276,7 @@ public class ItemServiceImplTest {
         //create Items
         Item item1 = ItemMapper.toItem(itemDto1, owner, itemRequest);
         Item item2 = ItemMapper.toItem(itemDto2, owner, itemRequest);
-        List<Item> items = List.of(item1, item2);
+        List<ItemDto> items = List.of(ItemMapper.toItemDto(item1), ItemMapper.toItemDto(item2));
         //create lastBooking, next Booking to item1
         Long lastBookingId = 1L;
         Booking lastBooking = Booking.builder()
@@ -1305,25 +1321,30 @@ public class ItemServiceImplTest {
         List<ItemResponseDto> expectedItemsListBySearch = List.of(itemOutDto1, itemOutDto2);
 
         //mock repository answers
-        when(itemRepository.searchItemsBySubstring("text")).thenReturn(items);
-        when(commentRepository.findAllByItemIn(items)).thenReturn(comments);
-        when(bookingRepository
-                .findFirstByItemIdAndStatusAndStartIsBeforeOrStartEqualsOrderByEndDesc(any(), any(), any(), any()))
-                .thenReturn(Optional.of(lastBooking));
-        when(bookingRepository
-                .findFirstByItemIdAndStatusAndStartIsAfterOrStartEqualsOrderByStart(any(), any(), any(), any()))
-                .thenReturn(Optional.of(nextBooking));
+        List<Long> itemIds = List.of(item1Id, item2Id);
+        List<ItemBookingDto> lastBookings = List.of(
+                new ItemBookingDto(item1Id, lastBookingId, notOwnerId),
+                new ItemBookingDto(item2Id, lastBookingId, notOwnerId));
+        List<ItemBookingDto> nextBookings = List.of(
+                new ItemBookingDto(item1Id, nextBookingId, notOwnerId),
+                new ItemBookingDto(item2Id, nextBookingId, notOwnerId));
+
+        //mock repository answers
+        when(itemRepository.searchItemsBySubstring("text", PageRequest.of(0, 10))).thenReturn(items);
+        when(commentRepository.findAllByItemIdIn(itemIds)).thenReturn(commentsOut);
+        when(bookingRepository.findLastBookingsByItemIds(eq(itemIds), eq(BookingStatus.APPROVED), any()))
+                .thenReturn(lastBookings);
+        when(bookingRepository.findNextBookingsByItemIds(eq(itemIds), eq(BookingStatus.APPROVED), any()))
+                .thenReturn(nextBookings);
 
         //invoke tested method
-        List<ItemResponseDto> result = itemService.searchItemsBySubstring("text");
+        List<ItemResponseDto> result = itemService.searchItemsBySubstring("text", 0, 10, null);
 
         // verify invokes
-        verify(itemRepository).searchItemsBySubstring("text");
-        verify(commentRepository).findAllByItemIn(items);
-        verify(bookingRepository, atLeast(1))
-                .findFirstByItemIdAndStatusAndStartIsAfterOrStartEqualsOrderByStart(any(), any(), any(), any());
-        verify(bookingRepository, atLeast(1))
-                .findFirstByItemIdAndStatusAndStartIsAfterOrStartEqualsOrderByStart(any(), any(), any(), any());
+        verify(itemRepository).searchItemsBySubstring("text", PageRequest.of(0, 10));
+        verify(commentRepository).findAllByItemIdIn(itemIds);
+        verify(bookingRepository).findLastBookingsByItemIds(eq(itemIds), eq(BookingStatus.APPROVED), any());
+        verify(bookingRepository).findNextBookingsByItemIds(eq(itemIds), eq(BookingStatus.APPROVED), any());
 
         //check result
         assertEquals(result, expectedItemsListBySearch);
@@ -1360,15 +1381,15 @@ public class ItemServiceImplTest {
         List<ItemResponseDto> expectedListBySearch = Collections.emptyList();
 
         //mock repository answers
-        when(itemRepository.searchItemsBySubstring("text")).thenReturn(Collections.emptyList());
-        when(commentRepository.findAllByItemIn(Collections.emptyList())).thenReturn(Collections.emptyList());
+        when(itemRepository.searchItemsBySubstring("text", PageRequest.of(0, 10)))
+                .thenReturn(Collections.emptyList());
 
         //invoke tested method
-        List<ItemResponseDto> result = itemService.searchItemsBySubstring("text");
+        List<ItemResponseDto> result = itemService.searchItemsBySubstring("text", 0, 10, null);
 
         // verify invokes
-        verify(itemRepository).searchItemsBySubstring("text");
-        verify(commentRepository).findAllByItemIn(Collections.emptyList());
+        verify(itemRepository).searchItemsBySubstring("text", PageRequest.of(0, 10));
+        verify(commentRepository, never()).findAllByItemIdIn(any());
         verify(bookingRepository, never())
                 .findFirstByItemIdAndStatusAndStartIsAfterOrStartEqualsOrderByStart(any(), any(), any(), any());
         verify(bookingRepository, never())
@@ -1379,6 +1400,37 @@ public class ItemServiceImplTest {
         assertEquals(result.size(), 0);
     }
 
+    @Test
+    public void getListByUser_whenAfterIdIsNotNull_useKeysetQuery_AndIgnoreFrom() {
+
+        Long ownerId = 1L;
+        Long afterId = 5L;
+
+        when(itemRepository.findAllByOwnerIdAndIdIsGreaterThanOrderById(ownerId, afterId, PageRequest.of(0, 10)))
+                .thenReturn(Collections.emptyList());
+
+        List<ItemResponseDto> result = itemService.getListByUser(ownerId, 30, 10, afterId);
+
+        verify(itemRepository).findAllByOwnerIdAndIdIsGreaterThanOrderById(ownerId, afterId, PageRequest.of(0, 10));
+        verify(itemRepository, never()).findAllByOwnerIdOrderById(any(), any());
+        assertEquals(result.size(), 0);
+    }
+
+    @Test
+    public void searchItemsBySubstring_whenAfterIdIsNotNull_useKeysetQuery_AndIgnoreFrom() {
+
+        Long afterId = 5L;
+
+        when(itemRepository.searchItemsBySubstringAfterId("text", afterId, PageRequest.of(0, 10)))
+                .thenReturn(Collections.emptyList());
+
+        List<ItemResponseDto> result = itemService.searchItemsBySubstring("text", 30, 10, afterId);
+
+        verify(itemRepository).searchItemsBySubstringAfterId("text", afterId, PageRequest.of(0, 10));
+        verify(itemRepository, never()).searchItemsBySubstring(any(), any());
+        assertEquals(result.size(), 0);
+    }
+
     @Test
     public void addComment_whenItemExists_AndUserExists_AndUserIsNotOwner_AndUserHasPastOrCurrentApprovedBookings() {
 
@@ -1449,19 +1501,19 @@ public class ItemServiceImplTest {
         //mock repository answers
         when(userRepository.findById(notOwnerId)).thenReturn(Optional.of(notOwner));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(savedItem));
-        when(bookingRepository.findAllByItem_IdAndBooker_IdAndStatusAndStartIsBefore(anyLong(), any(), any(), any()))
-                .thenReturn(List.of(lastBooking, nextBooking));
+        when(bookingRepository.existsByItem_IdAndBooker_IdAndStatusAndStartIsBefore(anyLong(), any(), any(), any()))
+                .thenReturn(true);
         when(commentRepository.save(any(Comment.class))).thenReturn(savedComment);
 
         //invoke tested method
         CommentResponseDto result = itemService.addComment(commentDto, notOwnerId, itemId);
 
         // verify invokes
-        InOrder inOrder = inOrder(userRepository, itemRepository, bookingRepository, commentRepository);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, itemRepository, bookingRepository, commentRepository);
 
         inOrder.verify(itemRepository).findById(itemId);
         inOrder.verify(userRepository).findById(notOwnerId);
-        inOrder.verify(bookingRepository).findAllByItem_IdAndBooker_IdAndStatusAndStartIsBefore(anyLong(),
+        inOrder.verify(bookingRepository).existsByItem_IdAndBooker_IdAndStatusAndStartIsBefore(anyLong(),
                 any(), any(), any());
         inOrder.verify(commentRepository).save(any(Comment.class));
 
@@ -1630,8 +1682,8 @@ public class ItemServiceImplTest {
         //mock repository answers
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(savedItem));
         when(userRepository.findById(notOwnerId)).thenReturn(Optional.of(notOwner));
-        when(bookingRepository.findAllByItem_IdAndBooker_IdAndStatusAndStartIsBefore(anyLong(), any(), any(), any()))
-                .thenReturn(Collections.emptyList());
+        when(bookingRepository.existsByItem_IdAndBooker_IdAndStatusAndStartIsBefore(anyLong(), any(), any(), any()))
+                .thenReturn(false);
 
         //invoke tested method to check throws
         assertThrows(UnavailableItemException.class,
@@ -1642,7 +1694,7 @@ public class ItemServiceImplTest {
         // verify invokes
         verify(itemRepository).findById(itemId);
         verify(userRepository).findById(notOwnerId);
-        verify(bookingRepository).findAllByItem_IdAndBooker_IdAndStatusAndStartIsBefore(anyLong(),
+        verify(bookingRepository).existsByItem_IdAndBooker_IdAndStatusAndStartIsBefore(anyLong(),
                 any(), any(), any());
         verifyNoMoreInteractions(commentRepository);
 
@@ -233,7 +233,7 @@ public class ItemServiceIntegrationTest {
                 .build();
         userService.create(ownerDto);
 
-        List<ItemResponseDto> result = itemService.getListByUser(ownerId);
+        List<ItemResponseDto> result = itemService.getListByUser(ownerId, 0, 10, null);
 
         assertEquals(result, Collections.emptyList());
         assertEquals(result.size(), 0);
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.item.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingJpaRepository;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserJpaRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ItemServiceQueryCountTest {
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserJpaRepository userRepository;
+    @Autowired
+    private ItemJpaRepository itemRepository;
+    @Autowired
+    private BookingJpaRepository bookingRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User booker;
+
+    @BeforeEach
+    public void beforeEach() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        booker = userRepository.save(User.builder().name("Alex").email("Alex@yandex.ru").build());
+    }
+
+    @Test
+    public void getListByUser_statementCountDoesNotDependOnItemCount() {
+        User smallOwner = createOwnerWithBookedItems("small", 5);
+        User largeOwner = createOwnerWithBookedItems("large", 50);
+
+        long smallOwnerStatements = countStatements(smallOwner.getId(), 5);
+        long largeOwnerStatements = countStatements(largeOwner.getId(), 50);
+
+        assertEquals(smallOwnerStatements, largeOwnerStatements);
+    }
+
+    private long countStatements(Long ownerId, int expectedSize) {
+        statistics.clear();
+        List<ItemResponseDto> items = itemService.getListByUser(ownerId, 0, expectedSize, null);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(expectedSize, items.size());
+        items.forEach(item -> {
+            assertNotNull(item.getLastBooking());
+            assertNotNull(item.getNextBooking());
+        });
+        return statements;
+    }
+
+    private User createOwnerWithBookedItems(String name, int itemCount) {
+        User owner = userRepository.save(User.builder().name(name).email(name + "@yandex.ru").build());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < itemCount; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("item" + i)
+                    .description("description" + i)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .start(now.minusDays(2))
+                    .end(now.minusDays(1))
+                    .item(item)
+                    .booker(booker)
+                    .status(BookingStatus.APPROVED)
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .start(now.plusDays(1))
+                    .end(now.plusDays(2))
+                    .item(item)
+                    .booker(booker)
+                    .status(BookingStatus.APPROVED)
+                    .build());
+        }
+        return owner;
+    }
+}
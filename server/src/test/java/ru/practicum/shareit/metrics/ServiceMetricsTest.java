@@ -0,0 +1,96 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.exceptions.ObjectNotFoundException;
+import ru.practicum.shareit.util.exceptions.UnsupportedStatusException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ServiceMetricsTest {
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Long userId;
+
+    @BeforeEach
+    public void beforeEach() {
+        userId = userService.create(UserDto.builder().name("Owner").email("Owner@yandex.ru").build()).getId();
+    }
+
+    @Test
+    public void getListByOwner_recordLatencyByStateAndOutcome() {
+        bookingService.getListByOwner(userId, "WAITING", 0, 10);
+        bookingService.getListByOwner(userId, "PAST", 0, 10);
+        assertThrows(UnsupportedStatusException.class, () -> bookingService.getListByOwner(userId, "SOON", 0, 10));
+
+        assertEquals(1, timer("getListByOwner", "WAITING", "success").count());
+        assertEquals(1, timer("getListByOwner", "PAST", "success").count());
+        assertEquals(1, timer("getListByOwner", "UNSUPPORTED", "rejected").count());
+    }
+
+    @Test
+    public void getById_whenNotFound_recordNotFoundOutcome() {
+        assertThrows(ObjectNotFoundException.class, () -> bookingService.getById(userId, 9999L));
+
+        assertEquals(1, timer("getById", "none", "not_found").count());
+    }
+
+    @Test
+    public void serviceCall_recordSqlStatements() {
+        userService.findAll();
+
+        DistributionSummary statements = registry.find(ServiceMetricsAspect.STATEMENTS)
+                .tags("service", "UserServiceImpl", "method", "findAll")
+                .summary();
+        assertNotNull(statements);
+        assertEquals(1, statements.count());
+        assertTrue(statements.totalAmount() >= 1);
+    }
+
+    @Test
+    public void httpRequest_recordSqlStatementsByUriTemplate() throws Exception {
+        mockMvc.perform(get("/users/{id}", userId)).andExpect(status().isOk());
+
+        DistributionSummary statements = registry.find(SqlStatementMetricsFilter.METRIC)
+                .tags("method", "GET", "uri", "/users/{id}")
+                .summary();
+        assertNotNull(statements);
+        assertEquals(1, statements.count());
+    }
+
+    private Timer timer(String method, String state, String outcome) {
+        Timer timer = registry.find(ServiceMetricsAspect.TIMER)
+                .tags("service", "BookingServiceImpl", "method", method, "state", state, "outcome", outcome)
+                .timer();
+        assertNotNull(timer);
+        return timer;
+    }
+}
@@ -12,12 +12,14 @@ import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.repository.BookingJpaRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.request.dto.ItemRequestShortDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @DataJpaTest
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
@@ -111,21 +113,21 @@ public class ItemRequestRepositoryTest {
     @Test
     void findAllByRequesterIdIsNotOrderByCreatedDesc() {
 
-        List<ItemRequest> result = itemRequestRepository
+        List<ItemRequestShortDto> result = itemRequestRepository
                 .findAllByRequesterIdIsNot(ownerId, page);
 
-        AssertionsForClassTypes.assertThat(result).asList()
+        AssertionsForClassTypes.assertThat(toIds(result)).asList()
                 .hasSize(2)
-                .contains(item1Request)
-                .contains(item2Request)
-                .endsWith(item2Request);
+                .contains(item1Request.getId())
+                .contains(item2Request.getId())
+                .endsWith(item2Request.getId());
 
     }
 
     @Test
     void findAllByRequesterIdIsNotOrderByCreatedDescOnlyOne() {
 
-        List<ItemRequest> result = itemRequestRepository
+        List<ItemRequestShortDto> result = itemRequestRepository
                 .findAllByRequesterIdIsNot(ownerId, pageWithSize1);
 
         AssertionsForClassTypes.assertThat(result).asList()
@@ -136,15 +138,33 @@ public class ItemRequestRepositoryTest {
     @Test
     void findAllByRequesterIdIsNotOrderByCreatedDesc_ReturnEmptyList() {
 
-        List<ItemRequest> result = itemRequestRepository
+        List<ItemRequestShortDto> result = itemRequestRepository
                 .findAllByRequesterIdIsNot(requesterId, page);
 
         AssertionsForClassTypes.assertThat(result).asList()
-                .hasSize(0)
-                .doesNotContain(item1Request)
-                .doesNotContain(item2Request)
                 .isEmpty();
 
     }
 
+    @Test
+    void findAllByRequesterId_returnOnlyProjectedColumns() {
+
+        List<ItemRequestShortDto> result = itemRequestRepository.findAllByRequesterId(requesterId);
+
+        AssertionsForClassTypes.assertThat(toIds(result)).asList()
+                .hasSize(2)
+                .contains(item1Request.getId())
+                .contains(item2Request.getId());
+        AssertionsForClassTypes.assertThat(result.get(0))
+                .hasFieldOrProperty("description")
+                .hasFieldOrProperty("created");
+
+    }
+
+    private List<Long> toIds(List<ItemRequestShortDto> requests) {
+        return requests.stream()
+                .map(ItemRequestShortDto::getId)
+                .collect(Collectors.toList());
+    }
+
 }
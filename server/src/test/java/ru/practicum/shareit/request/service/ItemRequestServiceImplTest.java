@@ -16,11 +16,13 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemJpaRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestOutDto;
+import ru.practicum.shareit.request.dto.ItemRequestShortDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 import ru.practicum.shareit.util.exceptions.ObjectNotFoundException;
 
 import java.time.LocalDateTime;
@@ -46,6 +48,8 @@ public class ItemRequestServiceImplTest {
     @Mock
     private UserJpaRepository userRepository;
     @Mock
+    private UserExistenceCache userExistenceCache;
+    @Mock
     private ItemJpaRepository itemRepository;
     @Mock
     private ItemRequestRepository itemRequestRepository;
@@ -90,7 +94,7 @@ public class ItemRequestServiceImplTest {
         ItemRequestOutDto result = itemRequestService.create(requesterId, itemRequestDto);
 
         //verify invoke
-        InOrder inOrder = inOrder(userRepository, itemRequestRepository);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, itemRequestRepository);
         inOrder.verify(userRepository).findById(requesterId);
         inOrder.verify(itemRequestRepository).save(requestCaptor.capture());
 
@@ -192,9 +196,6 @@ public class ItemRequestServiceImplTest {
                 .build();
         ItemDto item2dto = ItemMapper.toItemDto(item2);
 
-        //create list of items for request
-        List<Item> items = List.of(item1, item2);
-
         //create list of itemsDto for response
         List<ItemDto> itemsDtoList = List.of(item1dto, item2dto);
 
@@ -203,16 +204,16 @@ public class ItemRequestServiceImplTest {
                 .toItemRequestOutDto(savedItemRequest, itemsDtoList);
 
         //mock repository answer
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userExistenceCache.exists(userId)).thenReturn(true);
         when(itemRequestRepository.findById(requestId)).thenReturn(Optional.of(savedItemRequest));
-        when(itemRepository.findAllByRequestId(requestId)).thenReturn(items);
+        when(itemRepository.findAllByRequestId(requestId)).thenReturn(itemsDtoList);
 
         //invoke tested method
         ItemRequestOutDto result = itemRequestService.getRequestById(userId, requestId);
 
         //verify invoke
-        InOrder inOrder = inOrder(userRepository, itemRequestRepository, itemRepository);
-        inOrder.verify(userRepository).existsById(userId);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, itemRequestRepository, itemRepository);
+        inOrder.verify(userExistenceCache).exists(userId);
         inOrder.verify(itemRequestRepository).findById(requestId);
         inOrder.verify(itemRepository).findAllByRequestId(requestId);
 
@@ -240,7 +241,7 @@ public class ItemRequestServiceImplTest {
         Long requestId = 1L;
 
         //mock repository answer
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userExistenceCache.exists(userId)).thenReturn(false);
 
         //invoke tested method to check throws
         assertThrows(ObjectNotFoundException.class,
@@ -248,7 +249,7 @@ public class ItemRequestServiceImplTest {
                 String.format("Пользователя с id %d не существует", userId));
 
         //verify invoke
-        verify(userRepository).existsById(userId);
+        verify(userExistenceCache).exists(userId);
         verifyNoInteractions(itemRequestRepository);
     }
 
@@ -262,7 +263,7 @@ public class ItemRequestServiceImplTest {
         Long requestId = 1L;
 
         //mock repository answer
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userExistenceCache.exists(userId)).thenReturn(true);
         when(itemRequestRepository.findById(requestId)).thenReturn(Optional.empty());
 
         //invoke tested method to check throws
@@ -271,8 +272,8 @@ public class ItemRequestServiceImplTest {
                 String.format("Запроса с id %d не существует", requestId));
 
         //verify invokes and their order
-        InOrder inOrder = inOrder(userRepository, itemRequestRepository);
-        inOrder.verify(userRepository).existsById(userId);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, itemRequestRepository);
+        inOrder.verify(userExistenceCache).exists(userId);
         inOrder.verify(itemRequestRepository).findById(requestId);
     }
 
@@ -329,7 +330,11 @@ public class ItemRequestServiceImplTest {
                 .build();
 
         //create list of ItemRequests
-       List<ItemRequest> itemRequests = List.of(savedItemRequest1, savedItemRequest2, savedItemRequest3);
+        List<ItemRequestShortDto> itemRequests = List.of(
+                new ItemRequestShortDto(itemRequest1Id, itemRequest1.getDescription(), itemRequest1.getCreated()),
+                new ItemRequestShortDto(itemRequest2Id, itemRequest2.getDescription(), itemRequest2.getCreated()),
+                new ItemRequestShortDto(itemRequest3Id, itemRequest3.getDescription(), itemRequest3.getCreated()));
+        List<Long> requestIds = List.of(itemRequest1Id, itemRequest2Id, itemRequest3Id);
 
         //create Items
         Long item1Id = 1L;
@@ -370,7 +375,7 @@ public class ItemRequestServiceImplTest {
         List<ItemDto> request3Items = List.of(itemDto3);
 
         //create list of all items of requester
-        List<Item> allItems = List.of(item1, item2, item3);
+        List<ItemDto> allItems = List.of(itemDto1, itemDto2, itemDto3);
 
         //create ItemRequestOutDto objects
         ItemRequestOutDto expectedItemRequest1 = ItemRequestMapper
@@ -386,20 +391,20 @@ public class ItemRequestServiceImplTest {
 
         //mock repository answer
 
-        when(userRepository.existsById(requesterId)).thenReturn(true);
+        when(userExistenceCache.exists(requesterId)).thenReturn(true);
         when(itemRequestRepository.findAllByRequesterId(requesterId))
                 .thenReturn(itemRequests);
-        when(itemRepository.findAllByRequestIn(itemRequests)).thenReturn(allItems);
+        when(itemRepository.findAllByRequestIdIn(requestIds)).thenReturn(allItems);
 
         //invoke tested method
         List<ItemRequestOutDto> result = itemRequestService.getOwnRequests(requesterId);
 
 
         //verify invoke
-        InOrder inOrder = inOrder(userRepository, itemRequestRepository, itemRepository);
-        inOrder.verify(userRepository).existsById(requesterId);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, itemRequestRepository, itemRepository);
+        inOrder.verify(userExistenceCache).exists(requesterId);
         inOrder.verify(itemRequestRepository).findAllByRequesterId(requesterId);
-        inOrder.verify(itemRepository).findAllByRequestIn(itemRequests);
+        inOrder.verify(itemRepository).findAllByRequestIdIn(requestIds);
 
 
         //check result
@@ -432,7 +437,7 @@ public class ItemRequestServiceImplTest {
         Long userId = 1L;
 
         //mock repository answer
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userExistenceCache.exists(userId)).thenReturn(false);
 
         //invoke tested method to check throws
         assertThrows(ObjectNotFoundException.class,
@@ -440,7 +445,7 @@ public class ItemRequestServiceImplTest {
                 String.format("Пользователя с id %d не существует", userId));
 
         //verify invoke
-        verify(userRepository).existsById(userId);
+        verify(userExistenceCache).exists(userId);
         verifyNoMoreInteractions(itemRequestRepository, itemRepository);
 
     }
@@ -481,7 +486,10 @@ public class ItemRequestServiceImplTest {
                 .build();
 
         //create list of ItemRequests
-        List<ItemRequest> itemRequests = List.of(savedItemRequest1, savedItemRequest2);
+        List<ItemRequestShortDto> itemRequests = List.of(
+                new ItemRequestShortDto(itemRequest1Id, itemRequest1.getDescription(), itemRequest1.getCreated()),
+                new ItemRequestShortDto(itemRequest2Id, itemRequest2.getDescription(), itemRequest2.getCreated()));
+        List<Long> requestIds = List.of(itemRequest1Id, itemRequest2Id);
 
         //create Items
         Long item1Id = 1L;
@@ -521,7 +529,7 @@ public class ItemRequestServiceImplTest {
         List<ItemDto> request2Items = List.of(itemDto3);
 
         //create list of all items in requests
-        List<Item> allItems = List.of(item1, item2, item3);
+        List<ItemDto> allItems = List.of(itemDto1, itemDto2, itemDto3);
 
         //create ItemRequestOutDto objects
         ItemRequestOutDto expectedItemRequest1 = ItemRequestMapper
@@ -539,19 +547,19 @@ public class ItemRequestServiceImplTest {
         PageRequest page = PageRequest.of(from / size, size, Sort.by(Sort.Direction.ASC, "id"));
 
         //mock repository answers
-        when(userRepository.existsById(ownerId)).thenReturn(true);
+        when(userExistenceCache.exists(ownerId)).thenReturn(true);
         when(itemRequestRepository.findAllByRequesterIdIsNot(ownerId, page))
                 .thenReturn(itemRequests);
-        when(itemRepository.findAllByRequestIn(itemRequests)).thenReturn(allItems);
+        when(itemRepository.findAllByRequestIdIn(requestIds)).thenReturn(allItems);
 
         //invoke tested method
         List<ItemRequestOutDto> result = itemRequestService.getOtherUsersRequests(ownerId, from, size);
 
         //verify invoke
-        InOrder inOrder = inOrder(userRepository, itemRequestRepository, itemRepository);
-        inOrder.verify(userRepository).existsById(ownerId);
+        InOrder inOrder = inOrder(userExistenceCache, userRepository, itemRequestRepository, itemRepository);
+        inOrder.verify(userExistenceCache).exists(ownerId);
         inOrder.verify(itemRequestRepository).findAllByRequesterIdIsNot(ownerId, page);
-        inOrder.verify(itemRepository).findAllByRequestIn(itemRequests);
+        inOrder.verify(itemRepository).findAllByRequestIdIn(requestIds);
 
         //check result
         assertEquals(result, expectedItemRequests);
@@ -581,7 +589,7 @@ public class ItemRequestServiceImplTest {
         Integer size = 10;
 
         //mock repository answer
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userExistenceCache.exists(userId)).thenReturn(false);
 
         //invoke tested method to check throws
         assertThrows(ObjectNotFoundException.class,
@@ -589,7 +597,7 @@ public class ItemRequestServiceImplTest {
                 String.format("Пользователя с id %d не существует", userId));
 
         //verify invoke
-        verify(userRepository).existsById(userId);
+        verify(userExistenceCache).exists(userId);
         verifyNoMoreInteractions(itemRequestRepository, itemRepository);
     }
 }
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.user.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.user.repository.UserJpaRepository;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserExistenceCacheTest {
+    @Mock
+    private UserJpaRepository userRepository;
+
+    private UserExistenceCache userExistenceCache;
+
+    @BeforeEach
+    public void beforeEach() {
+        userExistenceCache = new UserExistenceCache(userRepository, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    public void exists_whenUserExists_queryRepositoryOnlyOnce() {
+        Long userId = 1L;
+        when(userRepository.existsById(userId)).thenReturn(true);
+
+        assertTrue(userExistenceCache.exists(userId));
+        assertTrue(userExistenceCache.exists(userId));
+
+        verify(userRepository, times(1)).existsById(userId);
+    }
+
+    @Test
+    public void exists_whenUserDoesNotExist_doNotCacheNegativeAnswer() {
+        Long userId = 1L;
+        when(userRepository.existsById(userId)).thenReturn(false, true);
+
+        assertFalse(userExistenceCache.exists(userId));
+        assertTrue(userExistenceCache.exists(userId));
+
+        verify(userRepository, times(2)).existsById(userId);
+    }
+
+    @Test
+    public void evict_whenUserWasDeleted_queryRepositoryAgain() {
+        Long userId = 1L;
+        when(userRepository.existsById(userId)).thenReturn(true, false);
+
+        assertTrue(userExistenceCache.exists(userId));
+        userExistenceCache.evict(userId);
+
+        assertFalse(userExistenceCache.exists(userId));
+        verify(userRepository, times(2)).existsById(userId);
+    }
+}
@@ -5,19 +5,29 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
+import ru.practicum.shareit.util.exceptions.EmailAlreadyExistsException;
 import ru.practicum.shareit.util.exceptions.ObjectNotFoundException;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.only;
 import static org.mockito.Mockito.verify;
@@ -31,6 +41,10 @@ public class UserServiceImplTest {
     private UserServiceImpl userService;
     @Mock
     private UserJpaRepository userRepository;
+    @Mock
+    private UserExistenceCache userExistenceCache;
+    @Spy
+    private UserEmailCache userEmailCache = new UserEmailCache(16, Duration.ofMinutes(1));
 
     @Test
     public void create_returnSavedUser() {
@@ -126,7 +140,7 @@ public class UserServiceImplTest {
         UserDto result = userService.update(validNew, userId);
 
         //verify invokes
-        verify(userRepository).save(updatedUser);
+        verify(userRepository).saveAndFlush(updatedUser);
 
         //check result
         assertEquals(result, expectedUserDto);
@@ -196,7 +210,7 @@ public class UserServiceImplTest {
         UserDto result = userService.update(validNew, userId);
 
         //verify invokes
-        verify(userRepository).save(updatedUser);
+        verify(userRepository).saveAndFlush(updatedUser);
 
         //check result
         assertEquals(result, expectedUserDto);
@@ -239,7 +253,7 @@ public class UserServiceImplTest {
         UserDto result = userService.update(validNew, userId);
 
         //verify invokes
-        verify(userRepository).save(updatedUser);
+        verify(userRepository).saveAndFlush(updatedUser);
 
         //check result
         assertEquals(result, expectedUserDto);
@@ -279,7 +293,7 @@ public class UserServiceImplTest {
         UserDto result = userService.update(invalidNew, userId);
 
         //verify invokes
-        verify(userRepository).save(user);
+        verify(userRepository).saveAndFlush(user);
 
         //check result
         assertEquals(result, expectedUserDto);
@@ -304,9 +318,33 @@ public class UserServiceImplTest {
 
         //verify invokes
         verify(userRepository).deleteById(userId);
+        verify(userExistenceCache).evict(userId);
     }
 
 
+    @Test
+    public void delete_whenInTransaction_evictCachesOnlyAfterCommit() {
+
+        Long userId = 1L;
+        userEmailCache.put("CustomerName@yandex.ru", userId);
+        when(userRepository.existsById(userId)).thenReturn(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.deleteById(userId);
+
+            verify(userExistenceCache, never()).evict(userId);
+            assertEquals(userId, userEmailCache.getOwnerId("CustomerName@yandex.ru"));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(userExistenceCache).evict(userId);
+        assertEquals(UserEmailCache.NO_OWNER, userEmailCache.getOwnerId("CustomerName@yandex.ru"));
+    }
+
     @Test
     public void delete_whenUserDoesNotExists_doesNotInvokeRepository() {
 
@@ -359,4 +397,154 @@ public class UserServiceImplTest {
         assertEquals(result.get(1).getName(), "Name");
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void update_whenEmailIsCachedForOtherUser_throwEmailAlreadyExists_withoutLookup() {
+        Long userId = 1L;
+        User user = User.builder()
+                .id(userId)
+                .name("CustomerName")
+                .email("CustomerName@yandex.ru")
+                .build();
+        UserDto newEmail = UserDto.builder()
+                .email("Alex@yandex.ru")
+                .build();
+
+        userEmailCache.put("Alex@yandex.ru", 2L);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+
+        assertThrows(EmailAlreadyExistsException.class, () -> userService.update(newEmail, userId));
+
+        verify(userRepository, never()).findByEmailAndIdIsNot(anyString(), anyLong());
+        verify(userRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void update_whenEmailIsTakenByOtherUser_lookupOnce_andCacheOwner() {
+        Long userId = 1L;
+        User user = User.builder()
+                .id(userId)
+                .name("CustomerName")
+                .email("CustomerName@yandex.ru")
+                .build();
+        User otherUser = User.builder()
+                .id(2L)
+                .name("Alex")
+                .email("Alex@yandex.ru")
+                .build();
+        UserDto newEmail = UserDto.builder()
+                .email("Alex@yandex.ru")
+                .build();
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.findByEmailAndIdIsNot("Alex@yandex.ru", userId)).thenReturn(Optional.of(otherUser));
+
+        assertThrows(EmailAlreadyExistsException.class, () -> userService.update(newEmail, userId));
+        assertThrows(EmailAlreadyExistsException.class, () -> userService.update(newEmail, userId));
+
+        verify(userRepository).findByEmailAndIdIsNot("Alex@yandex.ru", userId);
+        assertEquals(2L, userEmailCache.getOwnerId("Alex@yandex.ru"));
+    }
+
+    @Test
+    public void update_whenEmailConstraintIsViolated_throwEmailAlreadyExists() {
+        Long userId = 1L;
+        User user = User.builder()
+                .id(userId)
+                .name("CustomerName")
+                .email("CustomerName@yandex.ru")
+                .build();
+        UserDto newEmail = UserDto.builder()
+                .email("Alex@yandex.ru")
+                .build();
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new RuntimeException("Unique index or primary key violation: UNIQUE_USER_EMAIL")));
+
+        assertThrows(EmailAlreadyExistsException.class, () -> userService.update(newEmail, userId));
+    }
+
+    @Test
+    public void update_whenEmailChanged_releaseOldEmail_andCacheNewOwner() {
+        Long userId = 1L;
+        User user = User.builder()
+                .id(userId)
+                .name("CustomerName")
+                .email("CustomerName@yandex.ru")
+                .build();
+        UserDto newEmail = UserDto.builder()
+                .email("New@yandex.ru")
+                .build();
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+
+        userService.update(newEmail, userId);
+
+        assertEquals(UserEmailCache.NO_OWNER, userEmailCache.getOwnerId("CustomerName@yandex.ru"));
+        assertEquals(userId, userEmailCache.getOwnerId("New@yandex.ru"));
+    }
+
+    @Test
+    public void update_whenInTransaction_cacheEmailsOnlyAfterCommit() {
+        Long userId = 1L;
+        User user = User.builder()
+                .id(userId)
+                .name("CustomerName")
+                .email("CustomerName@yandex.ru")
+                .build();
+        UserDto newEmail = UserDto.builder()
+                .email("New@yandex.ru")
+                .build();
+
+        userEmailCache.put("CustomerName@yandex.ru", userId);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.update(newEmail, userId);
+
+            assertEquals(userId, userEmailCache.getOwnerId("CustomerName@yandex.ru"));
+            assertNull(userEmailCache.getOwnerId("New@yandex.ru"));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(UserEmailCache.NO_OWNER, userEmailCache.getOwnerId("CustomerName@yandex.ru"));
+        assertEquals(userId, userEmailCache.getOwnerId("New@yandex.ru"));
+    }
+
+    @Test
+    public void create_whenEmailConstraintIsViolated_evictCachedEmail_throwEmailAlreadyExists() {
+        UserDto userDto = UserDto.builder()
+                .name("Alex")
+                .email("Alex@yandex.ru")
+                .build();
+
+        userEmailCache.put("Alex@yandex.ru", UserEmailCache.NO_OWNER);
+        when(userRepository.save(any()))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new RuntimeException("Unique index or primary key violation: UNIQUE_USER_EMAIL")));
+
+        assertThrows(EmailAlreadyExistsException.class, () -> userService.create(userDto));
+
+        assertNull(userEmailCache.getOwnerId("Alex@yandex.ru"));
+    }
+
+    @Test
+    public void create_whenOtherConstraintIsViolated_rethrowDataIntegrityViolation() {
+        UserDto userDto = UserDto.builder()
+                .name("Alex")
+                .email("Alex@yandex.ru")
+                .build();
+
+        when(userRepository.save(any()))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new RuntimeException("NULL not allowed for column \"NAME\"")));
+
+        assertThrows(DataIntegrityViolationException.class, () -> userService.create(userDto));
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.user.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserJpaRepository;
+import ru.practicum.shareit.util.exceptions.EmailAlreadyExistsException;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class UserServiceQueryCountTest {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserJpaRepository userRepository;
+    @Autowired
+    private UserEmailCache userEmailCache;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void beforeEach() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void update_loadedRowsDoNotDependOnUserCount() {
+        List<User> users = createUsers("first", 10);
+        long smallTableLoads = countEntityLoads(users.get(0).getId(), "first-new@yandex.ru");
+
+        createUsers("second", 500);
+        long largeTableLoads = countEntityLoads(users.get(1).getId(), "second-new@yandex.ru");
+
+        assertEquals(smallTableLoads, largeTableLoads);
+    }
+
+    @Test
+    public void update_whenCacheIsStale_translateConstraintViolation() {
+        List<User> users = createUsers("user", 2);
+        String takenEmail = users.get(1).getEmail();
+        userEmailCache.put(takenEmail, UserEmailCache.NO_OWNER);
+
+        UserDto update = UserDto.builder().email(takenEmail).build();
+
+        assertThrows(EmailAlreadyExistsException.class, () -> userService.update(update, users.get(0).getId()));
+    }
+
+    private long countEntityLoads(Long userId, String newEmail) {
+        statistics.clear();
+        userService.update(UserDto.builder().email(newEmail).build(), userId);
+        return statistics.getEntityLoadCount();
+    }
+
+    private List<User> createUsers(String prefix, int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder().name(prefix + i).email(prefix + i + "@yandex.ru").build());
+        }
+        return userRepository.saveAll(users);
+    }
+}
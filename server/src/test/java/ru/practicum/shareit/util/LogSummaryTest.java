@@ -0,0 +1,44 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LogSummaryTest {
+
+    @Test
+    public void toString_whenMoreThanTenItems_renderCountAndFirstTenIds() {
+        List<Long> ids = LongStream.rangeClosed(1, 25).boxed().collect(Collectors.toList());
+
+        assertEquals("25 шт., id: [1, 2, 3, 4, 5, 6, 7, 8, 9, 10, ...]",
+                LogSummary.of(ids, Function.identity()).toString());
+    }
+
+    @Test
+    public void toString_whenFewItems_renderAllIds() {
+        assertEquals("2 шт., id: [7, 9]", LogSummary.of(List.of(7L, 9L), Function.identity()).toString());
+    }
+
+    @Test
+    public void toString_whenEmpty_renderCountOnly() {
+        assertEquals("0 шт.", LogSummary.of(Collections.<Long>emptyList(), Function.identity()).toString());
+    }
+
+    @Test
+    public void of_doNotTouchItemsUntilRendered() {
+        AtomicInteger extracted = new AtomicInteger();
+
+        LogSummary<Long> summary = LogSummary.of(List.of(1L, 2L), id -> extracted.incrementAndGet());
+
+        assertEquals(0, extracted.get());
+        summary.toString();
+        assertEquals(2, extracted.get());
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TransactionCallbacksTest {
+
+    @Test
+    public void afterCommit_whenNoTransaction_runImmediately() {
+        AtomicInteger runs = new AtomicInteger();
+
+        TransactionCallbacks.afterCommit(runs::incrementAndGet);
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void afterCommit_whenInTransaction_runOnlyOnCommit() {
+        AtomicInteger runs = new AtomicInteger();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            TransactionCallbacks.afterCommit(runs::incrementAndGet);
+            assertEquals(0, runs.get());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void afterCommit_whenRolledBack_neverRun() {
+        AtomicInteger runs = new AtomicInteger();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            TransactionCallbacks.afterCommit(runs::incrementAndGet);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(
+                            TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, runs.get());
+    }
+}